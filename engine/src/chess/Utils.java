@@ -0,0 +1,7 @@
+package chess;
+
+public class Utils {
+	public static boolean isOutOfBounds(int row, int col) {
+		return row < 0 || row > 7 || col < 0 || col > 7;
+	}
+}
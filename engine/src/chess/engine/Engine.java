@@ -0,0 +1,429 @@
+package chess.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.Side;
+import chess.moves.Move;
+import chess.moves.MovesProcessor;
+import chess.moves.StaticExchange;
+import chess.moves.Zobrist;
+import chess.solver.TranspositionTable;
+
+/**
+ * Best-move search for any position (where {@code Solver} only answers "is there a forced mate within N moves"): iterative
+ * deepening negamax with alpha-beta pruning, principal variation search, a quiescence search of captures and promotions,
+ * null move pruning, late move reductions and check extensions, scored by the {@link Evaluator}. Moves follow the rules of
+ * {@link MovesProcessor}.
+ * <p>
+ * Moves are tried in the order: the transposition table's move, captures that don't lose material (most valuable victim 
+ * first, then least valuable attacker), promotions, killer moves, losing captures (by {@link StaticExchange}), then the other 
+ * quiet moves by history. The quiescence search skips the losing captures altogether. The table is kept between searches, so
+ * analysing the successive positions of a game reuses it.
+ * <p>
+ * Not thread-safe, except for {@link #stop()}.
+ */
+public class Engine {
+	public static final int MATE_SCORE = 100_000; //mated right now, scores of longer mates are closer to 0 by 1 per ply
+	public static final int MAX_DEPTH = 100;
+	public static final int MATE_BOUND = MATE_SCORE - 2 * MAX_DEPTH; //scores beyond are mates
+	
+	private static final int INFINITY = MATE_SCORE + 1;
+	private static final int MAX_PLY = 2 * MAX_DEPTH; //check extensions and quiescence go beyond the nominal depth
+	private static final int DEFAULT_TT_SIZE_MB = 32;
+	private static final int NULL_MOVE_REDUCTION = 2;
+	private static final int NODES_PER_CLOCK_CHECK = 1024;
+	
+	//move ordering scores
+	private static final int HASH_MOVE_SCORE = 1 << 30;
+	private static final int CAPTURE_SCORE = 1 << 28;
+	private static final int PROMOTION_SCORE = 1 << 27;
+	private static final int KILLER_SCORE = 1 << 26;
+	private static final int LOSING_CAPTURE_SCORE = 3 << 24; //plus the (negative) exchange value
+	private static final int MAX_HISTORY = 1 << 25;
+	
+	private final TranspositionTable transpositionTable;
+	private final Move[][] killers = new Move[MAX_PLY][2];
+	private final int[][] history = new int[17][64]; //by piece id, then by target square
+	private final long[] pathKeys = new long[MAX_PLY + 1];
+	private long[] gameKeys = new long[0]; //sorted
+	private Consumer<SearchResult> infoListener;
+	private volatile boolean stopped;
+	private boolean aborted;
+	private boolean abortable;
+	private long deadline;
+	private long nodes;
+	private Move rootBestMove;
+	
+	public Engine() {
+		this(TranspositionTable.allocate(DEFAULT_TT_SIZE_MB));
+	}
+	
+	/**
+	 * @param transpositionTable not to be shared with a solver (the entries have another format)
+	 */
+	public Engine(TranspositionTable transpositionTable) {
+		super();
+		this.transpositionTable = transpositionTable;
+	}
+	
+	/**
+	 * Searches deeper and deeper until maxDepth is done or the time is up (the first depth is always completed).
+	 *
+	 * @param previousMove the move that was just played (by the opponent of sideToMove), may be null
+	 * @param maxMillis time limit, 0 for none
+	 * @return the result of the deepest completed depth
+	 */
+	public SearchResult search(BoardModel board, Side sideToMove, Move previousMove, int maxDepth, long maxMillis) {
+		long startMillis = System.currentTimeMillis();
+		deadline = maxMillis > 0 ? startMillis + maxMillis : 0;
+		stopped = false;
+		aborted = false;
+		nodes = 0;
+		for (Move[] plyKillers : killers) {
+			Arrays.fill(plyKillers, null);
+		}
+		for (int[] pieceHistory : history) {
+			for (int i = 0; i < pieceHistory.length; i++) {
+				pieceHistory[i] /= 8; //keep a little of what earlier searches learned
+			}
+		}
+		
+		SearchResult result = null;
+		for (int depth = 1; depth <= Math.min(maxDepth, MAX_DEPTH); depth++) {
+			abortable = depth > 1;
+			rootBestMove = null;
+			int score = search(board, sideToMove, previousMove, depth, -INFINITY, INFINITY, 0, false);
+			if (aborted) {
+				break;
+			}
+			
+			long millis = System.currentTimeMillis() - startMillis;
+			result = new SearchResult(rootBestMove, score, depth, nodes, millis,
+					principalVariation(board, sideToMove, previousMove, rootBestMove, depth));
+			if (infoListener != null) {
+				infoListener.accept(result);
+			}
+			if (rootBestMove == null || Math.abs(score) >= MATE_BOUND && MATE_SCORE - Math.abs(score) <= depth) {
+				break; //no legal move, or a mate that a deeper search can't shorten
+			}
+			if (deadline > 0 && millis * 2 > maxMillis) {
+				break; //the next depth would most likely not finish in time
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Asks a search running in another thread to return (with the deepest depth completed so far).
+	 */
+	public void stop() {
+		stopped = true;
+	}
+	
+	/**
+	 * @param listener called with the result of each completed depth of a search (in the searching thread), may be null
+	 */
+	public void setInfoListener(Consumer<SearchResult> listener) {
+		this.infoListener = listener;
+	}
+	
+	/**
+	 * @param keys Zobrist keys of the game's positions before the one to search, a search scores a return to any of them as 
+	 * 		a draw (by repetition)
+	 */
+	public void setGameHistory(Collection<Long> keys) {
+		gameKeys = keys.stream().mapToLong(Long::longValue).sorted().toArray();
+	}
+	
+	/**
+	 * Forgets everything learned from earlier searches, e.g. for a new game.
+	 */
+	public void clear() {
+		transpositionTable.clear();
+		for (int[] pieceHistory : history) {
+			Arrays.fill(pieceHistory, 0);
+		}
+	}
+	
+	private int search(BoardModel board, Side side, Move previousMove, int depth, int alpha, int beta, int ply, 
+			boolean nullMoveAllowed) {
+		boolean inCheck = MovesProcessor.isCheckOnColor(board, side, previousMove);
+		if (inCheck) {
+			depth++; //don't let a check push the real threats beyond the horizon
+		}
+		if (depth <= 0) {
+			return quiesce(board, side, previousMove, alpha, beta, ply);
+		}
+		if (isAborted()) {
+			return 0;
+		}
+		nodes++;
+		
+		long key = Zobrist.hash(board, side, previousMove);
+		if (ply > 0 && isRepetition(key, ply)) {
+			return 0;
+		}
+		pathKeys[ply] = key;
+		if (ply >= MAX_PLY - 1) {
+			return Evaluator.evaluate(board, side);
+		}
+		
+		Move hashMove = null;
+		long entry = transpositionTable.probe(key);
+		if (entry != 0) {
+			hashMove = EvalEntry.move(entry, board);
+			if (ply > 0 && EvalEntry.depth(entry) >= depth) {
+				int score = EvalEntry.score(entry, ply);
+				int bound = EvalEntry.bound(entry);
+				if (bound == EvalEntry.EXACT || bound == EvalEntry.LOWER && score >= beta || bound == EvalEntry.UPPER && score <= alpha) {
+					return score;
+				}
+			}
+		}
+		
+		//null move: if passing still fails high, a real move surely would
+		boolean pvNode = beta - alpha > 1;
+		if (nullMoveAllowed && !pvNode && !inCheck && depth >= 3 && Evaluator.hasPieces(board, side)
+				&& Evaluator.evaluate(board, side) >= beta) {
+			int score = -search(board, side.opponent(), null, depth - 1 - NULL_MOVE_REDUCTION, -beta, -beta + 1, ply + 1, false);
+			if (aborted) {
+				return 0;
+			}
+			if (score >= beta) {
+				return score >= MATE_BOUND ? beta : score; //a mate found without moving isn't a real one
+			}
+		}
+		
+		List<Move> moves = generateMoves(board, side, previousMove, false);
+		int[] orderScores = scoreMoves(board, moves, hashMove, ply);
+		Side opponent = side.opponent();
+		int originalAlpha = alpha;
+		int bestScore = -INFINITY;
+		Move bestMove = null;
+		int legalMoves = 0;
+		for (int i = 0; i < moves.size(); i++) {
+			Move move = pickNext(moves, orderScores, i);
+			BoardModel boardAfterMove = MovesProcessor.applyMove(board, move);
+			if (!MovesProcessor.isLegalMove(board, move, previousMove, boardAfterMove)) {
+				continue;
+			}
+			legalMoves++;
+			
+			boolean quiet = !move.isCapturePiece() && !move.isPromotePawn();
+			int score;
+			if (legalMoves == 1) {
+				score = -search(boardAfterMove, opponent, move, depth - 1, -beta, -alpha, ply + 1, true);
+			} else {
+				//late quiet moves are searched shallower first, and (like all but the first move) with a null window
+				int reduction = depth >= 3 && legalMoves > 4 && quiet && !inCheck 
+						&& !MovesProcessor.isCheckOnColor(boardAfterMove, opponent, move) ? 1 : 0;
+				score = -search(boardAfterMove, opponent, move, depth - 1 - reduction, -alpha - 1, -alpha, ply + 1, true);
+				if (score > alpha && reduction > 0) {
+					score = -search(boardAfterMove, opponent, move, depth - 1, -alpha - 1, -alpha, ply + 1, true);
+				}
+				if (score > alpha && score < beta) {
+					score = -search(boardAfterMove, opponent, move, depth - 1, -beta, -alpha, ply + 1, true);
+				}
+			}
+			if (aborted) {
+				return 0;
+			}
+			
+			if (score > bestScore) {
+				bestScore = score;
+				bestMove = move;
+				if (ply == 0) {
+					rootBestMove = move;
+				}
+			}
+			if (score > alpha) {
+				alpha = score;
+			}
+			if (alpha >= beta) {
+				if (quiet) {
+					rememberCutoff(move, depth, ply);
+				}
+				break;
+			}
+		}
+		
+		if (legalMoves == 0) {
+			return inCheck ? -MATE_SCORE + ply : 0; //checkmate or stalemate
+		}
+		
+		int bound = bestScore >= beta ? EvalEntry.LOWER : bestScore > originalAlpha ? EvalEntry.EXACT : EvalEntry.UPPER;
+		Move storedMove = bound == EvalEntry.UPPER ? hashMove : bestMove; //after a fail low, no move is known to be best
+		transpositionTable.store(key, EvalEntry.of(depth, bound, bestScore, ply, storedMove));
+		return bestScore;
+	}
+	
+	/**
+	 * searches captures and promotions only, until the position is quiet; the side to move may also "stand pat" (take the 
+	 * static evaluation) rather than capture
+	 */
+	private int quiesce(BoardModel board, Side side, Move previousMove, int alpha, int beta, int ply) {
+		if (isAborted()) {
+			return 0;
+		}
+		nodes++;
+		
+		int standPat = Evaluator.evaluate(board, side);
+		if (standPat >= beta || ply >= MAX_PLY - 1) {
+			return standPat;
+		}
+		if (standPat > alpha) {
+			alpha = standPat;
+		}
+		
+		List<Move> moves = generateMoves(board, side, previousMove, true);
+		int[] orderScores = scoreMoves(board, moves, null, ply);
+		int bestScore = standPat;
+		for (int i = 0; i < moves.size(); i++) {
+			Move move = pickNext(moves, orderScores, i);
+			if (orderScores[i] < CAPTURE_SCORE && move.isCapturePiece()) {
+				continue; //loses material, can't raise the score above standing pat
+			}
+			BoardModel boardAfterMove = MovesProcessor.applyMove(board, move);
+			if (!MovesProcessor.isLegalMove(board, move, previousMove, boardAfterMove)) {
+				continue;
+			}
+			
+			int score = -quiesce(boardAfterMove, side.opponent(), move, -beta, -alpha, ply + 1);
+			if (aborted) {
+				return 0;
+			}
+			if (score > bestScore) {
+				bestScore = score;
+				if (score > alpha) {
+					alpha = score;
+					if (alpha >= beta) {
+						break;
+					}
+				}
+			}
+		}
+		return bestScore;
+	}
+	
+	private boolean isAborted() {
+		if (!aborted && abortable && nodes % NODES_PER_CLOCK_CHECK == 0) {
+			aborted = stopped || deadline > 0 && System.currentTimeMillis() >= deadline;
+		}
+		return aborted;
+	}
+	
+	/**
+	 * @return true if the position (with the same side to move) was already reached in the game or on the current path
+	 */
+	private boolean isRepetition(long key, int ply) {
+		for (int i = ply - 2; i >= 0; i -= 2) {
+			if (pathKeys[i] == key) {
+				return true;
+			}
+		}
+		return gameKeys.length > 0 && Arrays.binarySearch(gameKeys, key) >= 0;
+	}
+	
+	/**
+	 * @return the pseudo-legal moves of "side" (only captures and promotions if capturesOnly)
+	 */
+	private static List<Move> generateMoves(BoardModel board, Side side, Move previousMove, boolean capturesOnly) {
+		List<Move> moves = new ArrayList<>();
+		for (long squares = board.getOccupiedSquares(side); squares != 0; squares &= squares - 1) {
+			Cell cell = Cell.of(Long.numberOfTrailingZeros(squares));
+			for (Move move : MovesProcessor.getMovesForPiece(board, cell, board.getPiece(cell), previousMove, false)) {
+				if (!capturesOnly || move.isCapturePiece() || move.isPromotePawn()) {
+					moves.add(move);
+				}
+			}
+		}
+		return moves;
+	}
+	
+	private int[] scoreMoves(BoardModel board, List<Move> moves, Move hashMove, int ply) {
+		int[] scores = new int[moves.size()];
+		for (int i = 0; i < scores.length; i++) {
+			Move move = moves.get(i);
+			if (move.equals(hashMove)) {
+				scores[i] = HASH_MOVE_SCORE;
+			} else if (move.isCapturePiece()) {
+				int exchange = StaticExchange.evaluate(board, move);
+				scores[i] = exchange < 0 ? LOSING_CAPTURE_SCORE + exchange : CAPTURE_SCORE 
+						+ 16 * Evaluator.value(move.getCapturedPiece().getPieceType()) - Evaluator.value(move.getPiece().getPieceType()) / 16;
+			} else if (move.isPromotePawn()) {
+				scores[i] = PROMOTION_SCORE + Evaluator.value(move.getPromotedPiece().getPieceType());
+			} else if (move.equals(killers[ply][0])) {
+				scores[i] = KILLER_SCORE + 1;
+			} else if (move.equals(killers[ply][1])) {
+				scores[i] = KILLER_SCORE;
+			} else {
+				scores[i] = history[move.getPiece().getId()][move.getTarget().getIndex()];
+			}
+		}
+		return scores;
+	}
+	
+	/**
+	 * selection sort, one step at a time: moves the best scored of the remaining moves to index i (most nodes cut off after 
+	 * a move or two, so sorting them all would be wasted)
+	 */
+	private static Move pickNext(List<Move> moves, int[] scores, int i) {
+		int best = i;
+		for (int j = i + 1; j < scores.length; j++) {
+			if (scores[j] > scores[best]) {
+				best = j;
+			}
+		}
+		if (best != i) {
+			int score = scores[i];
+			scores[i] = scores[best];
+			scores[best] = score;
+			moves.set(best, moves.set(i, moves.get(best)));
+		}
+		return moves.get(i);
+	}
+	
+	private void rememberCutoff(Move move, int depth, int ply) {
+		if (!move.equals(killers[ply][0])) {
+			killers[ply][1] = killers[ply][0];
+			killers[ply][0] = move;
+		}
+		int[] pieceHistory = history[move.getPiece().getId()];
+		int target = move.getTarget().getIndex();
+		pieceHistory[target] = Math.min(MAX_HISTORY, pieceHistory[target] + depth * depth);
+	}
+	
+	/**
+	 * follows the transposition table's moves from the root, as long as they are legal and don't repeat a position
+	 */
+	private List<Move> principalVariation(BoardModel board, Side side, Move previousMove, Move firstMove, int maxLength) {
+		List<Move> line = new ArrayList<>();
+		Set<Long> visited = new HashSet<>();
+		Move move = firstMove;
+		while (move != null && line.size() < maxLength) {
+			line.add(move);
+			board = MovesProcessor.applyMove(board, move);
+			side = side.opponent();
+			previousMove = move;
+			
+			long key = Zobrist.hash(board, side, previousMove);
+			long entry = transpositionTable.probe(key);
+			if (!visited.add(key) || entry == 0) {
+				break;
+			}
+			move = EvalEntry.move(entry, board);
+			if (move != null && (move.getPiece().getSide() != side || !MovesProcessor.isValidMove(board, move, previousMove))) {
+				move = null;
+			}
+		}
+		return line;
+	}
+}
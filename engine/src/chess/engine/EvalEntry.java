@@ -0,0 +1,79 @@
+package chess.engine;
+
+import chess.model.BoardModel;
+import chess.moves.Move;
+import chess.moves.PackedMove;
+
+/**
+ * The engine's transposition table entries, packed in the table's data long.
+ * <p>
+ * Bits: 0-7 depth, 8-9 bound, 10 has move, 11-28 the best move ({@link PackedMove}), 32-52 score (offset to stay positive), 
+ * 63 always set (so the data is never 0).
+ * <p>
+ * Mate scores are stored relative to the entry's position (rather than to the root), so they stay right when the position is
+ * reached at another ply.
+ */
+final class EvalEntry {
+	static final int EXACT = 0;
+	static final int LOWER = 1; //the score is at least the stored one (a beta cutoff)
+	static final int UPPER = 2; //the score is at most the stored one (no move raised alpha)
+	
+	private static final long HAS_MOVE = 1L << 10;
+	private static final int MOVE_SHIFT = 11;
+	private static final int SCORE_SHIFT = 32;
+	private static final int SCORE_OFFSET = 1 << 20;
+	private static final long NON_EMPTY = 1L << 63;
+	
+	private EvalEntry() {}
+	
+	/**
+	 * @param ply distance from the root of the search to the position
+	 * @param move may be null
+	 */
+	static long of(int depth, int bound, int score, int ply, Move move) {
+		long data = NON_EMPTY | depth | (long) bound << 8 | (long) (toStored(score, ply) + SCORE_OFFSET) << SCORE_SHIFT;
+		if (move != null) {
+			data |= HAS_MOVE | (long) PackedMove.pack(move) << MOVE_SHIFT;
+		}
+		return data;
+	}
+	
+	static int depth(long data) {
+		return (int) (data & 0xFF);
+	}
+	
+	static int bound(long data) {
+		return (int) (data >>> 8) & 3;
+	}
+	
+	static int score(long data, int ply) {
+		int stored = (int) ((data >>> SCORE_SHIFT) & ((1 << 21) - 1)) - SCORE_OFFSET;
+		if (stored >= Engine.MATE_BOUND) {
+			return stored - ply;
+		}
+		if (stored <= -Engine.MATE_BOUND) {
+			return stored + ply;
+		}
+		return stored;
+	}
+	
+	/**
+	 * @return the stored move, null if there's none or it doesn't fit the board (i.e. a key collision)
+	 */
+	static Move move(long data, BoardModel board) {
+		if ((data & HAS_MOVE) == 0) {
+			return null;
+		}
+		return PackedMove.unpack((int) (data >>> MOVE_SHIFT) & ((1 << PackedMove.BITS) - 1), board);
+	}
+	
+	private static int toStored(int score, int ply) {
+		if (score >= Engine.MATE_BOUND) {
+			return score + ply;
+		}
+		if (score <= -Engine.MATE_BOUND) {
+			return score - ply;
+		}
+		return score;
+	}
+}
@@ -0,0 +1,160 @@
+package chess.engine;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.ChessPiece;
+import chess.model.PieceType;
+import chess.model.Side;
+import chess.moves.StaticExchange;
+import chess.solver.MatingMaterial;
+
+/**
+ * Static evaluation: material plus piece-square tables, in centipawns from the point of view of the side to move. The king's
+ * table is blended from a middlegame one (stay sheltered) to an endgame one (centralize) as the pieces come off.
+ * <p>
+ * The tables are laid out the way the board is, row 0 first (black's back rank), for white's pieces; black's pieces read
+ * them mirrored.
+ */
+public final class Evaluator {
+	private static final int MAX_PHASE = 24; //all minor pieces, rooks and queens on the board
+	
+	private static final int[] PAWN_TABLE = {
+			 0,  0,  0,  0,  0,  0,  0,  0,
+			50, 50, 50, 50, 50, 50, 50, 50,
+			10, 10, 20, 30, 30, 20, 10, 10,
+			 5,  5, 10, 25, 25, 10,  5,  5,
+			 0,  0,  0, 20, 20,  0,  0,  0,
+			 5, -5,-10,  0,  0,-10, -5,  5,
+			 5, 10, 10,-20,-20, 10, 10,  5,
+			 0,  0,  0,  0,  0,  0,  0,  0};
+	
+	private static final int[] KNIGHT_TABLE = {
+			-50,-40,-30,-30,-30,-30,-40,-50,
+			-40,-20,  0,  0,  0,  0,-20,-40,
+			-30,  0, 10, 15, 15, 10,  0,-30,
+			-30,  5, 15, 20, 20, 15,  5,-30,
+			-30,  0, 15, 20, 20, 15,  0,-30,
+			-30,  5, 10, 15, 15, 10,  5,-30,
+			-40,-20,  0,  5,  5,  0,-20,-40,
+			-50,-40,-30,-30,-30,-30,-40,-50};
+	
+	private static final int[] BISHOP_TABLE = {
+			-20,-10,-10,-10,-10,-10,-10,-20,
+			-10,  0,  0,  0,  0,  0,  0,-10,
+			-10,  0,  5, 10, 10,  5,  0,-10,
+			-10,  5,  5, 10, 10,  5,  5,-10,
+			-10,  0, 10, 10, 10, 10,  0,-10,
+			-10, 10, 10, 10, 10, 10, 10,-10,
+			-10,  5,  0,  0,  0,  0,  5,-10,
+			-20,-10,-10,-10,-10,-10,-10,-20};
+	
+	private static final int[] ROOK_TABLE = {
+			 0,  0,  0,  0,  0,  0,  0,  0,
+			 5, 10, 10, 10, 10, 10, 10,  5,
+			-5,  0,  0,  0,  0,  0,  0, -5,
+			-5,  0,  0,  0,  0,  0,  0, -5,
+			-5,  0,  0,  0,  0,  0,  0, -5,
+			-5,  0,  0,  0,  0,  0,  0, -5,
+			-5,  0,  0,  0,  0,  0,  0, -5,
+			 0,  0,  0,  5,  5,  0,  0,  0};
+	
+	private static final int[] QUEEN_TABLE = {
+			-20,-10,-10, -5, -5,-10,-10,-20,
+			-10,  0,  0,  0,  0,  0,  0,-10,
+			-10,  0,  5,  5,  5,  5,  0,-10,
+			 -5,  0,  5,  5,  5,  5,  0, -5,
+			  0,  0,  5,  5,  5,  5,  0, -5,
+			-10,  5,  5,  5,  5,  5,  0,-10,
+			-10,  0,  5,  0,  0,  0,  0,-10,
+			-20,-10,-10, -5, -5,-10,-10,-20};
+	
+	private static final int[] KING_MIDDLEGAME_TABLE = {
+			-30,-40,-40,-50,-50,-40,-40,-30,
+			-30,-40,-40,-50,-50,-40,-40,-30,
+			-30,-40,-40,-50,-50,-40,-40,-30,
+			-30,-40,-40,-50,-50,-40,-40,-30,
+			-20,-30,-30,-40,-40,-30,-30,-20,
+			-10,-20,-20,-20,-20,-20,-20,-10,
+			 20, 20,  0,  0,  0,  0, 20, 20,
+			 20, 30, 10,  0,  0, 10, 30, 20};
+	
+	private static final int[] KING_ENDGAME_TABLE = {
+			-50,-40,-30,-20,-20,-30,-40,-50,
+			-30,-20,-10,  0,  0,-10,-20,-30,
+			-30,-10, 20, 30, 30, 20,-10,-30,
+			-30,-10, 30, 40, 40, 30,-10,-30,
+			-30,-10, 30, 40, 40, 30,-10,-30,
+			-30,-10, 20, 30, 30, 20,-10,-30,
+			-30,-30,  0,  0,  0,  0,-30,-30,
+			-50,-30,-30,-30,-30,-30,-30,-50};
+	
+	private Evaluator() {}
+	
+	/**
+	 * @return the score of the position for "sideToMove", in centipawns (0 if neither side can mate)
+	 */
+	public static int evaluate(BoardModel board, Side sideToMove) {
+		long allPieces = board.getOccupiedSquares(Side.WHITE) | board.getOccupiedSquares(Side.BLACK);
+		if (Long.bitCount(allPieces) <= 4 && !MatingMaterial.isSufficient(board, Side.WHITE)
+				&& !MatingMaterial.isSufficient(board, Side.BLACK)) {
+			return 0;
+		}
+		
+		int score = 0;
+		int phase = 0;
+		int kingMiddlegame = 0;
+		int kingEndgame = 0;
+		for (long squares = allPieces; squares != 0; squares &= squares - 1) {
+			int index = Long.numberOfTrailingZeros(squares);
+			ChessPiece piece = board.getPiece(Cell.of(index));
+			int sign = piece.getSide() == sideToMove ? 1 : -1;
+			int tableIndex = piece.getSide() == Side.WHITE ? index : index ^ 56; //black reads the rows upside down
+			switch (piece.getPieceType()) {
+				case PAWN -> score += sign * (value(PieceType.PAWN) + PAWN_TABLE[tableIndex]);
+				case KNIGHT -> {
+					score += sign * (value(PieceType.KNIGHT) + KNIGHT_TABLE[tableIndex]);
+					phase++;
+				}
+				case BISHOP -> {
+					score += sign * (value(PieceType.BISHOP) + BISHOP_TABLE[tableIndex]);
+					phase++;
+				}
+				case ROOK -> {
+					score += sign * (value(PieceType.ROOK) + ROOK_TABLE[tableIndex]);
+					phase += 2;
+				}
+				case QUEEN -> {
+					score += sign * (value(PieceType.QUEEN) + QUEEN_TABLE[tableIndex]);
+					phase += 4;
+				}
+				case KING -> {
+					kingMiddlegame += sign * KING_MIDDLEGAME_TABLE[tableIndex];
+					kingEndgame += sign * KING_ENDGAME_TABLE[tableIndex];
+				}
+				default -> {}
+			}
+		}
+		
+		phase = Math.min(phase, MAX_PHASE);
+		return score + (kingMiddlegame * phase + kingEndgame * (MAX_PHASE - phase)) / MAX_PHASE;
+	}
+	
+	/**
+	 * @return the material value of a piece type, in centipawns (0 for the king)
+	 */
+	public static int value(PieceType type) {
+		return StaticExchange.value(type);
+	}
+	
+	/**
+	 * @return true if "side" has a piece other than pawns and king (where zugzwang is rare enough to allow a null move)
+	 */
+	public static boolean hasPieces(BoardModel board, Side side) {
+		for (long squares = board.getOccupiedSquares(side) & ~board.getKingSquares(side); squares != 0; squares &= squares - 1) {
+			if (board.getPiece(Cell.of(Long.numberOfTrailingZeros(squares))).getPieceType() != PieceType.PAWN) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
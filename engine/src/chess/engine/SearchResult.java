@@ -0,0 +1,29 @@
+package chess.engine;
+
+import java.util.List;
+
+import chess.moves.Move;
+
+/**
+ * The outcome of a completed search depth.
+ *
+ * @param bestMove null if the side to move has no legal move
+ * @param score centipawns for the side to move, or (beyond {@link Engine#MATE_BOUND}) a mate, see {@link #mateIn()}
+ * @param principalVariation the expected line, starting with bestMove
+ */
+public record SearchResult(Move bestMove, int score, int depth, long nodes, long millis, List<Move> principalVariation) {
+	
+	/**
+	 * @return the number of moves to mate: positive if the side to move mates, negative if it gets mated, 0 if no mate was 
+	 * 		found
+	 */
+	public int mateIn() {
+		if (score >= Engine.MATE_BOUND) {
+			return (Engine.MATE_SCORE - score + 1) / 2;
+		}
+		if (score <= -Engine.MATE_BOUND) {
+			return -(Engine.MATE_SCORE + score) / 2;
+		}
+		return 0;
+	}
+}
@@ -0,0 +1,316 @@
+package chess.model;
+
+import static chess.Utils.isOutOfBounds;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+public class BoardModel {
+	private static final int[][] KNIGHT_JUMPS = {{-1, -2}, {-2, -1}, {-2, 1}, {-1, 2}, {1, 2}, {2, 1}, {2, -1}, {1, -2}};
+	private static final int[][] DIRECTIONS = {{-1, 0}, {-1, 1}, {0, 1}, {1, 1}, {1, 0}, {1, -1}, {0, -1}, {-1, -1}}; //{row, col} increments
+	
+	private final byte[][] grid = new byte[8][8];
+	
+	//attack maps, per side (indexed by Side.ordinal()): the number of pieces attacking each square (index row * 8 + col) and the
+	//attacked squares as a bitboard. Kept up to date on every placement/removal, so "is this square attacked" is a single lookup.
+	private final byte[][] attackCounts = new byte[2][64];
+	private final long[] attackedSquares = new long[2];
+	
+	//the squares occupied by each side, and by its king(s), as bitboards: iterating the set bits visits just the pieces
+	private final long[] occupiedSquares = new long[2];
+	private final long[] kingSquares = new long[2];
+	
+	public void placePiece(byte row, byte col, ChessPiece piece) {
+		ChessPiece existing = getPiece(row, col);
+		if (existing != ChessPiece.NO_PIECE) {
+			clearSquare(row, col, existing);
+		}
+		if (piece != ChessPiece.NO_PIECE) {
+			fillSquare(row, col, piece);
+		}
+	}
+	
+	public void placePiece(Cell cell, ChessPiece piece) {
+		placePiece((byte) cell.getRow(), (byte) cell.getCol(), piece);
+	}
+	
+	public ChessPiece removePiece(byte row, byte col, boolean failIfSquareIsAlreadyEmpty) {
+		ChessPiece piece = getPiece(row, col);
+		if (failIfSquareIsAlreadyEmpty && piece == ChessPiece.NO_PIECE) {
+			throw new IllegalStateException(String.format("Square[%s][%s] is already empty", row, col));
+		}
+		
+		if (piece != ChessPiece.NO_PIECE) {
+			clearSquare(row, col, piece);
+		}
+		return piece;
+	}
+	
+	public ChessPiece removePiece(Cell cell, boolean failIfSquareIsAlreadyEmpty) {
+		return removePiece((byte) cell.getRow(), (byte) cell.getCol(), failIfSquareIsAlreadyEmpty);
+	}
+	
+	public ChessPiece getPiece(byte row, byte col) {
+		return ChessPiece.fromId(grid[row][col]);
+	}
+	
+	public ChessPiece getPiece(Cell cell) {
+		return getPiece((byte) cell.getRow(), (byte) cell.getCol());
+	}
+	
+	public BoardModel getClone() {
+		BoardModel clone = new BoardModel();
+		for (int row = 0; row < grid.length; row++) {
+            System.arraycopy(this.grid[row], 0, clone.grid[row], 0, grid[row].length);
+		}
+		for (int side = 0; side < attackCounts.length; side++) {
+			System.arraycopy(this.attackCounts[side], 0, clone.attackCounts[side], 0, attackCounts[side].length);
+			clone.attackedSquares[side] = this.attackedSquares[side];
+			clone.occupiedSquares[side] = this.occupiedSquares[side];
+			clone.kingSquares[side] = this.kingSquares[side];
+		}
+		return clone;
+	}
+	
+	public boolean isCellVacant(Cell cell) {
+		return grid[cell.getRow()][cell.getCol()] == ChessPiece.NO_PIECE.getId();
+	}
+	
+	public boolean isCellOccupied(Cell cell) {
+		return !isCellVacant(cell);
+	}
+	
+	/**
+	 * @return true if any piece of "side" attacks the cell, i.e. could capture an opposing piece there (whether or not the move 
+	 * 		would be legal, e.g. the attacker might be pinned)
+	 */
+	public boolean isAttacked(Cell cell, Side side) {
+		return (attackedSquares[side.ordinal()] & (1L << cell.getIndex())) != 0;
+	}
+	
+	public int getAttackerCount(Cell cell, Side side) {
+		return attackCounts[side.ordinal()][cell.getIndex()];
+	}
+	
+	/**
+	 * @return the squares attacked by "side", as a bitboard (bit row * 8 + col)
+	 */
+	public long getAttackedSquares(Side side) {
+		return attackedSquares[side.ordinal()];
+	}
+	
+	/**
+	 * @return the squares occupied by pieces of "side", as a bitboard (bit row * 8 + col), e.g. to visit them in board order:
+	 * <pre>
+	 * 	for (long squares = board.getOccupiedSquares(side); squares != 0; squares &= squares - 1) {
+	 * 		Cell cell = Cell.of(Long.numberOfTrailingZeros(squares));
+	 * 		...
+	 * 	}
+	 * </pre>
+	 */
+	public long getOccupiedSquares(Side side) {
+		return occupiedSquares[side.ordinal()];
+	}
+	
+	/**
+	 * @return the squares of the king(s) of "side", as a bitboard (edited positions may have more than one king, or none)
+	 */
+	public long getKingSquares(Side side) {
+		return kingSquares[side.ordinal()];
+	}
+	
+	/**
+	 * @return the cell of the king of "side" (the first one in board order if there are several), null if there is none
+	 */
+	public Cell getKingCell(Side side) {
+		long squares = kingSquares[side.ordinal()];
+		return squares == 0 ? null : Cell.of(Long.numberOfTrailingZeros(squares));
+	}
+	
+	private void fillSquare(int row, int col, ChessPiece piece) {
+		updateRaysThrough(row, col, -1); //the new piece blocks the sliders whose rays ran through this square
+		grid[row][col] = piece.getId();
+		updatePieceSquares(row, col, piece);
+		updateAttacks(row, col, piece, 1);
+	}
+	
+	private void clearSquare(int row, int col, ChessPiece piece) {
+		updateAttacks(row, col, piece, -1);
+		grid[row][col] = ChessPiece.NO_PIECE.getId();
+		updatePieceSquares(row, col, piece);
+		updateRaysThrough(row, col, 1); //and unblocks them again
+	}
+	
+	/**
+	 * toggles the square in the bitboards of the piece's side (the piece is either being placed there or removed from there)
+	 */
+	private void updatePieceSquares(int row, int col, ChessPiece piece) {
+		long bit = 1L << (row * 8 + col);
+		int side = piece.getSide().ordinal();
+		occupiedSquares[side] ^= bit;
+		if (piece.getPieceType() == PieceType.KING) {
+			kingSquares[side] ^= bit;
+		}
+	}
+	
+	/**
+	 * Adds (delta = 1) or removes (delta = -1) the attacks of every slider whose ray reaches the (empty) square on the squares 
+	 * behind it, up to and including the next piece.
+	 */
+	private void updateRaysThrough(int row, int col, int delta) {
+		for (int[] direction : DIRECTIONS) {
+			int r = row + direction[0];
+			int c = col + direction[1];
+			while (!isOutOfBounds(r, c) && grid[r][c] == ChessPiece.NO_PIECE.getId()) {
+				r += direction[0];
+				c += direction[1];
+			}
+			if (isOutOfBounds(r, c) || !slidesAlong(ChessPiece.fromId(grid[r][c]), direction)) {
+				continue;
+			}
+			
+			int side = ChessPiece.fromId(grid[r][c]).getSide().ordinal();
+			addRay(side, row, col, -direction[0], -direction[1], delta);
+		}
+	}
+	
+	private void updateAttacks(int row, int col, ChessPiece piece, int delta) {
+		int side = piece.getSide().ordinal();
+		switch (piece.getPieceType()) {
+			case PAWN -> {
+				int attackedRow = piece.getSide() == Side.WHITE ? row - 1 : row + 1;
+				addAttack(side, attackedRow, col - 1, delta);
+				addAttack(side, attackedRow, col + 1, delta);
+			}
+			case KNIGHT -> {
+				for (int[] jump : KNIGHT_JUMPS) {
+					addAttack(side, row + jump[0], col + jump[1], delta);
+				}
+			}
+			case KING -> {
+				for (int[] direction : DIRECTIONS) {
+					addAttack(side, row + direction[0], col + direction[1], delta);
+				}
+			}
+			case ROOK, BISHOP, QUEEN -> {
+				for (int[] direction : DIRECTIONS) {
+					if (slidesAlong(piece, direction)) {
+						addRay(side, row, col, direction[0], direction[1], delta);
+					}
+				}
+			}
+			default -> {}
+		}
+	}
+	
+	/**
+	 * the squares from (row, col) (exclusive) in the given direction, up to and including the first piece
+	 */
+	private void addRay(int side, int row, int col, int rowIncrement, int colIncrement, int delta) {
+		int r = row + rowIncrement;
+		int c = col + colIncrement;
+		while (!isOutOfBounds(r, c)) {
+			addAttack(side, r, c, delta);
+			if (grid[r][c] != ChessPiece.NO_PIECE.getId()) {
+				break;
+			}
+			r += rowIncrement;
+			c += colIncrement;
+		}
+	}
+	
+	private void addAttack(int side, int row, int col, int delta) {
+		if (isOutOfBounds(row, col)) {
+			return;
+		}
+		
+		int index = row * 8 + col;
+		attackCounts[side][index] += delta;
+		if (attackCounts[side][index] == 0) {
+			attackedSquares[side] &= ~(1L << index);
+		} else {
+			attackedSquares[side] |= 1L << index;
+		}
+	}
+	
+	private static boolean slidesAlong(ChessPiece piece, int[] direction) {
+		boolean diagonal = direction[0] != 0 && direction[1] != 0;
+		return switch (piece.getPieceType()) {
+			case QUEEN -> true;
+			case ROOK -> !diagonal;
+			case BISHOP -> diagonal;
+			default -> false;
+		};
+	}
+	
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + Arrays.deepHashCode(grid);
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		BoardModel other = (BoardModel) obj;
+        return Arrays.deepEquals(grid, other.grid);
+    }
+
+	/**
+	 * Reads a board in the format written by {@link #toString()} (8 rows of 8 '|' separated piece names, blank lines ignored).
+	 * @throws IllegalArgumentException if the content isn't a valid board
+	 */
+	public static BoardModel parse(Reader reader) throws IOException {
+		BoardModel board = new BoardModel();
+		BufferedReader br = new BufferedReader(reader);
+		int row = 0;
+		String line;
+		while ((line = br.readLine()) != null && row < 8) {
+			if (line.trim().isEmpty()) {
+				continue;
+			}
+			
+			String[] ary = line.split("\\|");
+			if (ary.length < 8) {
+				throw new IllegalArgumentException(String.format("Row %s has only %s cells", row, ary.length));
+			}
+			
+			for (byte col = 0; col < 8; col++) {
+				ChessPiece piece = ChessPiece.fromString(ary[col].trim());
+				if (piece == null) {
+					throw new IllegalArgumentException(String.format("Invalid piece '%s' in row %s", ary[col].trim(), row));
+				}
+				board.placePiece((byte) row, col, piece);
+			}
+			
+			row++;
+		}
+		
+		if (row < 8) {
+			throw new IllegalArgumentException(String.format("Expected 8 rows but found %s", row));
+		}
+		return board;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+        for (byte[] bytes : grid) {
+            for (byte aByte : bytes) {
+                sb.append(String.format("%-12s", ChessPiece.fromId(aByte))).append("|");
+            }
+            sb.append("\r\n");
+            sb.append("\r\n"); //empty row between each row
+        }
+		return sb.toString();
+	}
+}
@@ -3,20 +3,49 @@ package chess.model;
 import static chess.Utils.*;
 import static java.lang.String.format;
 
+/**
+ * A square on the board. All 64 cells are created up front (see {@link #of(int, int)}), so looking one up never allocates
+ * and equal cells are always the same instance.
+ */
 public class Cell {
+	private static final Cell[] CELLS = new Cell[64];
+	
+	static {
+		for (int index = 0; index < CELLS.length; index++) {
+			CELLS[index] = new Cell(index / 8, index % 8);
+		}
+	}
+	
 	private final int row;
 	private final int col;
+	private final int index;
 	private final String label;
 	
-	public Cell(int rowNum, int colNum) {
+	private Cell(int rowNum, int colNum) {
 		super();
+		this.row = rowNum;
+		this.col = colNum;
+		this.index = rowNum * 8 + colNum;
+		this.label = Character.valueOf((char) ('A' + colNum)).toString() + (8 - rowNum);
+	}
+	
+	public static Cell of(int rowNum, int colNum) {
 		if (isOutOfBounds(rowNum, colNum)) {
 			throw new IllegalArgumentException(format("Invalid row (%s) or col (%s)", rowNum, colNum));
 		}
 		
-		this.row = rowNum;
-		this.col = colNum;
-		this.label = Character.valueOf((char) ('A' + colNum)).toString() + (8 - rowNum);
+		return CELLS[rowNum * 8 + colNum];
+	}
+	
+	/**
+	 * @param index row * 8 + col
+	 */
+	public static Cell of(int index) {
+		if (index < 0 || index >= CELLS.length) {
+			throw new IllegalArgumentException(format("Invalid index (%s)", index));
+		}
+		
+		return CELLS[index];
 	}
 	
 	public int getRow() {
@@ -25,6 +54,12 @@ public class Cell {
 	public int getCol() {
 		return col;
 	}
+	/**
+	 * @return row * 8 + col
+	 */
+	public int getIndex() {
+		return index;
+	}
 	public String getLabel() {
 		return label;
 	}
@@ -36,10 +71,7 @@ public class Cell {
 
 	@Override
 	public int hashCode() {
-		final int prime = 31;
-		int result = 1;
-		result = prime * result + ((label == null) ? 0 : label.hashCode());
-		return result;
+		return index;
 	}
 
 	@Override
@@ -50,9 +82,6 @@ public class Cell {
 			return false;
 		if (getClass() != obj.getClass())
 			return false;
-		Cell other = (Cell) obj;
-		if (label == null) {
-            return other.label == null;
-		} else return label.equals(other.label);
+		return index == ((Cell) obj).index;
     }
 }
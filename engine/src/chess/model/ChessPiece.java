@@ -1,33 +1,32 @@
 package chess.model;
-import java.awt.Color;
 
 public enum ChessPiece {
-	WHITE_PAWN(PieceType.PAWN, Color.WHITE, (byte) 1), 
-	WHITE_ROOK(PieceType.ROOK, Color.WHITE, (byte) 2), 
-	WHITE_KNIGHT(PieceType.KNIGHT, Color.WHITE, (byte) 3), 
-	WHITE_BISHOP(PieceType.BISHOP, Color.WHITE, (byte) 4), 
-	WHITE_QUEEN(PieceType.QUEEN, Color.WHITE, (byte) 5), 
-	WHITE_KING(PieceType.KING, Color.WHITE, (byte) 6),
-	BLACK_PAWN(PieceType.PAWN, Color.BLACK, (byte) 11), 
-	BLACK_ROOK(PieceType.ROOK, Color.BLACK, (byte) 12), 
-	BLACK_KNIGHT(PieceType.KNIGHT, Color.BLACK, (byte) 13), 
-	BLACK_BISHOP(PieceType.BISHOP, Color.BLACK, (byte) 14), 
-	BLACK_QUEEN(PieceType.QUEEN, Color.BLACK, (byte) 15), 
-	BLACK_KING(PieceType.KING, Color.BLACK, (byte) 16),
-	NO_PIECE(PieceType.NO_PIECE, Color.GRAY, (byte) 0); //gray color (rather than null) avoids having to do a null-check when comparing colors of 2 pieces...
+	WHITE_PAWN(PieceType.PAWN, Side.WHITE, (byte) 1), 
+	WHITE_ROOK(PieceType.ROOK, Side.WHITE, (byte) 2), 
+	WHITE_KNIGHT(PieceType.KNIGHT, Side.WHITE, (byte) 3), 
+	WHITE_BISHOP(PieceType.BISHOP, Side.WHITE, (byte) 4), 
+	WHITE_QUEEN(PieceType.QUEEN, Side.WHITE, (byte) 5), 
+	WHITE_KING(PieceType.KING, Side.WHITE, (byte) 6),
+	BLACK_PAWN(PieceType.PAWN, Side.BLACK, (byte) 11), 
+	BLACK_ROOK(PieceType.ROOK, Side.BLACK, (byte) 12), 
+	BLACK_KNIGHT(PieceType.KNIGHT, Side.BLACK, (byte) 13), 
+	BLACK_BISHOP(PieceType.BISHOP, Side.BLACK, (byte) 14), 
+	BLACK_QUEEN(PieceType.QUEEN, Side.BLACK, (byte) 15), 
+	BLACK_KING(PieceType.KING, Side.BLACK, (byte) 16),
+	NO_PIECE(PieceType.NO_PIECE, Side.NONE, (byte) 0);
 	
 	private final PieceType pieceType;
-	private final Color color;
+	private final Side side;
 	private final byte id;
 
-	ChessPiece(PieceType type, Color color, byte id) {
+	ChessPiece(PieceType type, Side side, byte id) {
 		this.pieceType = type;
-		this.color = color;
+		this.side = side;
 		this.id = id;
 	}
 	
-	public Color getColor() {
-		return color;
+	public Side getSide() {
+		return side;
 	}
 	
 	public PieceType getPieceType() {
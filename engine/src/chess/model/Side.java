@@ -0,0 +1,23 @@
+package chess.model;
+
+/**
+ * The side a piece belongs to (or whose turn it is). Compared by identity, so the move generator never needs
+ * {@code equals} calls or AWT to tell pieces apart.
+ */
+public enum Side {
+	WHITE, 
+	BLACK, 
+	NONE; //used by NO_PIECE (rather than null) so comparing the sides of 2 pieces needs no null-check
+	
+	public Side opponent() {
+		return switch (this) {
+			case WHITE -> BLACK;
+			case BLACK -> WHITE;
+			default -> throw new IllegalArgumentException("invalid side " + this);
+		};
+	}
+	
+	public boolean isWhite() {
+		return this == WHITE;
+	}
+}
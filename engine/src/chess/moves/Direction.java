@@ -25,4 +25,8 @@ public enum Direction {
 	public int getColIncrement() {
 		return colIncrement;
 	}
+	
+	public boolean isDiagonal() {
+		return rowIncrement != 0 && colIncrement != 0;
+	}
 }
@@ -0,0 +1,200 @@
+package chess.moves;
+
+import static chess.Utils.isOutOfBounds;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.ChessPiece;
+import chess.model.PieceType;
+import chess.model.Side;
+
+/**
+ * Mate detection without generating all of the defender's moves. A side in check can only get out of it by moving its king
+ * to a square that isn't attacked, or (if there's a single checker) by capturing the checker or interposing on the check
+ * line, so only those moves are tried: the king's escape squares are screened with the board's attack maps, and the other
+ * pieces' moves that don't land on the check line are never applied.
+ * <p>
+ * Also screens moves for checks, so a mate-in-1 search only applies the moves that can possibly give check.
+ */
+public final class MateDetector {
+	private static final int[][] KNIGHT_JUMPS = MovesProcessor.knightMoveIncrements;
+	
+	private MateDetector() {}
+	
+	/**
+	 * @param previousMove the move that was just played (by the opponent of "color"), may be null
+	 * @return true if "color" is in check and has no legal move
+	 */
+	public static boolean isCheckMate(BoardModel board, Side color, Move previousMove) {
+		long kings = board.getKingSquares(color);
+		if (Long.bitCount(kings) != 1) { //edited positions, no shortcuts
+			return MovesProcessor.isCheckOnColor(board, color, previousMove) && !MovesProcessor.hasLegalMove(board, color, previousMove);
+		}
+		
+		Side attacker = color.opponent();
+		Cell kingsCell = Cell.of(Long.numberOfTrailingZeros(kings));
+		if (!board.isAttacked(kingsCell, attacker)) {
+			return false;
+		}
+		
+		//1) king moves: squares attacked now stay attacked after the king moves, so only the others need to be tried (the king
+		//may still be in check there, on the line of a slider it was shielding)
+		ChessPiece king = board.getPiece(kingsCell);
+		for (Move move : MovesProcessor.getMovesForPiece(board, kingsCell, king, previousMove, false)) {
+			if (!move.isCastling() && !board.isAttacked(move.getTarget(), attacker) && isLegal(board, move, previousMove)) {
+				return false;
+			}
+		}
+		
+		//2) a double check can only be answered by a king move
+		if (board.getAttackerCount(kingsCell, attacker) > 1) {
+			return true;
+		}
+		
+		//3) capturing the checker or interposing, by any other piece
+		Cell checker = findChecker(board, kingsCell, attacker);
+		long checkLine = getCheckLine(board, kingsCell, checker);
+		boolean enPassantPossible = previousMove != null && previousMove.getPiece().getPieceType() == PieceType.PAWN
+				&& Math.abs(previousMove.getSource().getRow() - previousMove.getTarget().getRow()) == 2;
+		if (checkLine == bit(checker) && !enPassantPossible
+				&& board.getAttackerCount(checker, color) == (areAdjacent(kingsCell, checker) ? 1 : 0)) {
+			return true; //the checker can't be blocked, and nothing but (maybe) the king attacks it
+		}
+		
+		for (long squares = board.getOccupiedSquares(color) & ~kings; squares != 0; squares &= squares - 1) {
+			Cell cell = Cell.of(Long.numberOfTrailingZeros(squares));
+			for (Move move : MovesProcessor.getMovesForPiece(board, cell, board.getPiece(cell), previousMove, false)) {
+				boolean resolves = (checkLine & bit(move.getTarget())) != 0 || move.isEnPassant();
+				if (resolves && isLegal(board, move, previousMove)) {
+					return false;
+				}
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * A cheap screen that errs on the side of "yes": false means the move certainly doesn't check any king of the opponent.
+	 */
+	public static boolean mayGiveCheck(BoardModel board, Move move) {
+		if (move.isCastling() || move.isEnPassant()) {
+			return true; //the rook, or the square of the captured pawn, can check (or discover a check)
+		}
+		
+		ChessPiece piece = move.isPromotePawn() ? move.getPromotedPiece() : move.getPiece();
+		long opposingKings = board.getKingSquares(piece.getSide().opponent());
+		if ((opposingKings & board.getAttackedSquares(piece.getSide())) != 0) {
+			return true; //already in check (only in edited positions), the move may not even matter
+		}
+		
+		for (long kings = opposingKings; kings != 0; kings &= kings - 1) {
+			Cell kingsCell = Cell.of(Long.numberOfTrailingZeros(kings));
+			if (attacksFrom(board, piece, move.getTarget(), kingsCell, move.getSource())
+					|| isOpenLine(board, kingsCell, move.getSource(), null)) {
+				return true; //direct check, or the source square was shielding the king (a discovered check)
+			}
+		}
+		
+		return false;
+	}
+	
+	private static boolean isLegal(BoardModel board, Move move, Move previousMove) {
+		return MovesProcessor.isLegalMove(board, move, previousMove, MovesProcessor.applyMove(board, move));
+	}
+	
+	/**
+	 * @return true if "piece" standing on "from" attacks "to" (with "vacated" considered empty, may be null)
+	 */
+	private static boolean attacksFrom(BoardModel board, ChessPiece piece, Cell from, Cell to, Cell vacated) {
+		int rowDelta = to.getRow() - from.getRow();
+		int colDelta = to.getCol() - from.getCol();
+		return switch (piece.getPieceType()) {
+			case PAWN -> Math.abs(colDelta) == 1 && rowDelta == (piece.getSide() == Side.WHITE ? -1 : 1);
+			case KNIGHT -> Math.abs(rowDelta * colDelta) == 2;
+			case KING -> Math.max(Math.abs(rowDelta), Math.abs(colDelta)) == 1;
+			case ROOK -> (rowDelta == 0 || colDelta == 0) && isOpenLine(board, from, to, vacated);
+			case BISHOP -> Math.abs(rowDelta) == Math.abs(colDelta) && isOpenLine(board, from, to, vacated);
+			case QUEEN -> (rowDelta == 0 || colDelta == 0 || Math.abs(rowDelta) == Math.abs(colDelta))
+					&& isOpenLine(board, from, to, vacated);
+			default -> false;
+		};
+	}
+	
+	/**
+	 * @return true if "from" and "to" are on one line (rank, file or diagonal) with nothing in between (but "vacated")
+	 */
+	private static boolean isOpenLine(BoardModel board, Cell from, Cell to, Cell vacated) {
+		int rowDelta = to.getRow() - from.getRow();
+		int colDelta = to.getCol() - from.getCol();
+		if (rowDelta == 0 && colDelta == 0 || rowDelta != 0 && colDelta != 0 && Math.abs(rowDelta) != Math.abs(colDelta)) {
+			return false;
+		}
+		
+		int rowIncrement = Integer.signum(rowDelta);
+		int colIncrement = Integer.signum(colDelta);
+		int row = from.getRow() + rowIncrement;
+		int col = from.getCol() + colIncrement;
+		while (row != to.getRow() || col != to.getCol()) {
+			Cell cell = Cell.of(row, col);
+			if (board.isCellOccupied(cell) && !cell.equals(vacated)) {
+				return false;
+			}
+			row += rowIncrement;
+			col += colIncrement;
+		}
+		return true;
+	}
+	
+	private static Cell findChecker(BoardModel board, Cell kingsCell, Side attacker) {
+		for (int[] jump : KNIGHT_JUMPS) {
+			int row = kingsCell.getRow() + jump[0];
+			int col = kingsCell.getCol() + jump[1];
+			if (!isOutOfBounds(row, col) && board.getPiece((byte) row, (byte) col).getSide() == attacker
+					&& attacksFrom(board, board.getPiece((byte) row, (byte) col), Cell.of(row, col), kingsCell, null)) {
+				return Cell.of(row, col);
+			}
+		}
+		for (Direction direction : Direction.values()) {
+			int row = kingsCell.getRow() + direction.getRowIncrement();
+			int col = kingsCell.getCol() + direction.getColIncrement();
+			while (!isOutOfBounds(row, col) && board.getPiece((byte) row, (byte) col) == ChessPiece.NO_PIECE) {
+				row += direction.getRowIncrement();
+				col += direction.getColIncrement();
+			}
+			if (!isOutOfBounds(row, col) && board.getPiece((byte) row, (byte) col).getSide() == attacker
+					&& attacksFrom(board, board.getPiece((byte) row, (byte) col), Cell.of(row, col), kingsCell, null)) {
+				return Cell.of(row, col);
+			}
+		}
+		throw new IllegalStateException("No piece checks the king on " + kingsCell);
+	}
+	
+	/**
+	 * @return the checker's square and, for a distant slider, the squares between it and the king (as a bitboard)
+	 */
+	private static long getCheckLine(BoardModel board, Cell kingsCell, Cell checker) {
+		long line = bit(checker);
+		PieceType type = board.getPiece(checker).getPieceType();
+		if (type == PieceType.ROOK || type == PieceType.BISHOP || type == PieceType.QUEEN) {
+			int rowIncrement = Integer.signum(kingsCell.getRow() - checker.getRow());
+			int colIncrement = Integer.signum(kingsCell.getCol() - checker.getCol());
+			int row = checker.getRow() + rowIncrement;
+			int col = checker.getCol() + colIncrement;
+			while (row != kingsCell.getRow() || col != kingsCell.getCol()) {
+				line |= 1L << (row * 8 + col);
+				row += rowIncrement;
+				col += colIncrement;
+			}
+		}
+		return line;
+	}
+	
+	private static boolean areAdjacent(Cell cell1, Cell cell2) {
+		return Math.max(Math.abs(cell1.getRow() - cell2.getRow()), Math.abs(cell1.getCol() - cell2.getCol())) == 1;
+	}
+	
+	private static long bit(Cell cell) {
+		return 1L << cell.getIndex();
+	}
+}
@@ -40,7 +40,7 @@ public class Move {
 		}
 		
 		//check/set if capture move
-//		if (board.isCellOccupied(target) && piece.getColor() != board.getPiece(target).getColor()) {
+//		if (board.isCellOccupied(target) && piece.getSide() != board.getPiece(target).getSide()) {
 		if (board.isCellOccupied(target)) { //capturing own pieces is allowed in setup mode...
 			this.setCapturePiece(true);
 			this.setCapturedPiece(board.getPiece(target));
@@ -66,9 +66,9 @@ public class Move {
 			
 			Cell captureCell = null;
 			if (target.getRow() == 2) {
-				captureCell = new Cell(3, target.getCol());
+				captureCell = Cell.of(3, target.getCol());
 			} else if (target.getRow() == 5) {
-				captureCell = new Cell(4, target.getCol());
+				captureCell = Cell.of(4, target.getCol());
 			}
             assert captureCell != null;
             this.setCapturedPiece(board.getPiece(captureCell));
@@ -0,0 +1,219 @@
+package chess.moves;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.Side;
+
+/**
+ * Yields the legal moves of one side lazily, in stages: the hash move (if any), then checking moves, then captures that don't
+ * lose material (best {@link StaticExchange exchange} first), then quiet moves, then the losing captures. Moves are 
+ * generated pseudo-legally and each one is only checked for legality when a stage gets to it, so a caller that stops early 
+ * (e.g. a cutoff in the solver) never pays for the rest.
+ *
+ * Typical use:
+ * <pre>
+ * 	for (Move move = picker.next(); move != null; move = picker.next()) {...}
+ * </pre>
+ */
+public class MovePicker {
+	public enum Stage {HASH_MOVE, CHECKS, CAPTURES, QUIETS, LOSING_CAPTURES, DONE}
+	
+	private static final byte UNKNOWN = 0;
+	private static final byte ILLEGAL = 1;
+	private static final byte CHECK = 2;
+	private static final byte NO_CHECK = 3;
+	
+	private final BoardModel board;
+	private final Side side;
+	private final Move previousMove;
+	private final Move hashMove;
+	private final Comparator<Move> order;
+	
+	private List<Move> pseudoMoves;
+	private byte[] status;
+	private BoardModel[] boardsAfterMove;
+	private boolean[] yielded;
+	private int[] captureOrder; //indexes of the captures, by exchange value (best first)
+	private int[] exchangeValues;
+	
+	private final List<Integer> yieldedIndexes = new ArrayList<>();
+	private int replayCursor;
+	private Stage stage = Stage.HASH_MOVE;
+	private int stageCursor;
+	private int lastIndex = -1;
+	
+	/**
+	 * @param hashMove tried first if it is one of this side's legal moves, may be null
+	 * @param order order of the moves within each stage (e.g. strongest pieces first), may be null (board order)
+	 */
+	public MovePicker(BoardModel board, Side side, Move previousMove, Move hashMove, Comparator<Move> order) {
+		super();
+		this.board = board;
+		this.side = side;
+		this.previousMove = previousMove;
+		this.hashMove = hashMove;
+		this.order = order;
+	}
+	
+	/**
+	 * @return the next legal move, or null once all of them were returned
+	 */
+	public Move next() {
+		//replay moves already returned before a rewind()
+		if (replayCursor < yieldedIndexes.size()) {
+			lastIndex = yieldedIndexes.get(replayCursor++);
+			return pseudoMoves.get(lastIndex);
+		}
+		
+		generatePseudoMoves();
+		while (stage != Stage.DONE) {
+			int index = nextInStage();
+			if (index >= 0) {
+				yielded[index] = true;
+				yieldedIndexes.add(index);
+				replayCursor++;
+				lastIndex = index;
+				return pseudoMoves.get(index);
+			}
+			stage = Stage.values()[stage.ordinal() + 1];
+			stageCursor = 0;
+		}
+		
+		lastIndex = -1;
+		return null;
+	}
+	
+	/**
+	 * Starts over: next() returns the moves already returned (in the same order, without re-checking them), then carries on
+	 * where the stages left off.
+	 */
+	public void rewind() {
+		replayCursor = 0;
+		lastIndex = -1;
+	}
+	
+	/**
+	 * @return the stage that the next call to next() would continue from (once past the moves being replayed)
+	 */
+	public Stage getStage() {
+		return stage;
+	}
+	
+	/**
+	 * @return whether the move last returned by next() checks the opposing king
+	 */
+	public boolean givesCheck() {
+		return status[lastIndex] == CHECK;
+	}
+	
+	/**
+	 * @return the board after applying the move last returned by next() (shared, don't modify)
+	 */
+	public BoardModel getBoardAfterMove() {
+		return boardsAfterMove[lastIndex];
+	}
+	
+	private int nextInStage() {
+		switch (stage) {
+			case HASH_MOVE:
+				if (hashMove != null && stageCursor++ == 0) {
+					int index = pseudoMoves.indexOf(hashMove);
+					if (index >= 0 && classify(index) != ILLEGAL) {
+						return index;
+					}
+				}
+				return -1;
+			
+			case CHECKS:
+				//only the moves that pass the (cheap) check screen are applied here, the others are classified in their own stage
+				while (stageCursor < pseudoMoves.size()) {
+					int index = stageCursor++;
+					if (!yielded[index] && MateDetector.mayGiveCheck(board, pseudoMoves.get(index)) && classify(index) == CHECK) {
+						return index;
+					}
+				}
+				return -1;
+			
+			case CAPTURES:
+			case LOSING_CAPTURES:
+				sortCaptures();
+				while (stageCursor < captureOrder.length) {
+					int index = captureOrder[stageCursor++];
+					if (!yielded[index] && exchangeValues[index] < 0 == (stage == Stage.LOSING_CAPTURES) && classify(index) == NO_CHECK) {
+						return index;
+					}
+				}
+				return -1;
+			
+			case QUIETS:
+				while (stageCursor < pseudoMoves.size()) {
+					int index = stageCursor++;
+					if (!yielded[index] && !pseudoMoves.get(index).isCapturePiece() && classify(index) == NO_CHECK) {
+						return index;
+					}
+				}
+				return -1;
+			
+			default:
+				return -1;
+		}
+	}
+	
+	private byte classify(int index) {
+		if (status[index] == UNKNOWN) {
+			Move move = pseudoMoves.get(index);
+			BoardModel boardAfterMove = MovesProcessor.applyMove(board, move);
+			if (!MovesProcessor.isLegalMove(board, move, previousMove, boardAfterMove)) {
+				status[index] = ILLEGAL;
+			} else {
+				boardsAfterMove[index] = boardAfterMove;
+				status[index] = MovesProcessor.isCheckOnColor(boardAfterMove, side.opponent(), move) ? CHECK : NO_CHECK;
+			}
+		}
+		
+		return status[index];
+	}
+	
+	/**
+	 * evaluates the captures' exchanges, once (a stable sort, so equal exchanges keep the order of the comparator)
+	 */
+	private void sortCaptures() {
+		if (captureOrder != null) {
+			return;
+		}
+		
+		exchangeValues = new int[pseudoMoves.size()];
+		List<Integer> captures = new ArrayList<>();
+		for (int index = 0; index < pseudoMoves.size(); index++) {
+			if (pseudoMoves.get(index).isCapturePiece()) {
+				exchangeValues[index] = StaticExchange.evaluate(board, pseudoMoves.get(index));
+				captures.add(index);
+			}
+		}
+		captures.sort(Comparator.comparingInt(index -> -exchangeValues[index]));
+		captureOrder = captures.stream().mapToInt(Integer::intValue).toArray();
+	}
+	
+	private void generatePseudoMoves() {
+		if (pseudoMoves != null) {
+			return;
+		}
+		
+		pseudoMoves = new ArrayList<>();
+		for (long squares = board.getOccupiedSquares(side); squares != 0; squares &= squares - 1) {
+			Cell cell = Cell.of(Long.numberOfTrailingZeros(squares));
+			pseudoMoves.addAll(MovesProcessor.getMovesForPiece(board, cell, board.getPiece(cell), previousMove, false));
+		}
+		if (order != null) {
+			pseudoMoves.sort(order);
+		}
+		
+		status = new byte[pseudoMoves.size()];
+		boardsAfterMove = new BoardModel[pseudoMoves.size()];
+		yielded = new boolean[pseudoMoves.size()];
+	}
+}
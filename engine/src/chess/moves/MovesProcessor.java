@@ -3,7 +3,6 @@ package chess.moves;
 import static chess.ChessConstants.*;
 import static chess.Utils.*;
 
-import java.awt.Color;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -15,6 +14,7 @@ import chess.model.BoardModel;
 import chess.model.Cell;
 import chess.model.ChessPiece;
 import chess.model.PieceType;
+import chess.model.Side;
 
 public class MovesProcessor {
 	public static int[][] knightMoveIncrements = //8 pairs; each pair in the format of {rowIncrement, colIncrement}
@@ -34,28 +34,49 @@ public class MovesProcessor {
 	 *        moves is purely to see if there's any moves that captures white's king - and if that were true, it's by definition a valid move (since the  
 	 *        game would be over as soon as the king is captured) thus allowing us to short-circuit the filter/check.
      */
-	public static MovesSummary getAllMoves(BoardModel board, Color color, Move previousMove, boolean filterOutMovesResultingInCheck) {
-		MovesSummary movesSummary = new MovesSummary(color, board);
-		for (byte row = 0; row < 8; row++) {
-			for (byte col = 0; col < 8; col++) {
-				ChessPiece piece = board.getPiece(row, col);
-				if (!piece.getColor().equals(color)) {
-					continue;
+	public static MovesSummary getAllMoves(BoardModel board, Side color, Move previousMove, boolean filterOutMovesResultingInCheck) {
+		return addAllMoves(new MovesSummary(color, board), board, color, previousMove, filterOutMovesResultingInCheck);
+	}
+	
+	/**
+	 * @return the number of legal moves for "color", without keeping the moves themselves
+	 */
+	public static int countAllMoves(BoardModel board, Side color, Move previousMove) {
+		return addAllMoves(MovesSummary.counting(color, board), board, color, previousMove, true).getNumberOfMoves();
+	}
+	
+	/**
+	 * @return true if "color" has at least one legal move (stops at the first one found)
+	 */
+	public static boolean hasLegalMove(BoardModel board, Side color, Move previousMove) {
+		for (long squares = board.getOccupiedSquares(color); squares != 0; squares &= squares - 1) {
+			Cell cell = Cell.of(Long.numberOfTrailingZeros(squares));
+			for (Move move : getMovesForPiece(board, cell, board.getPiece(cell), previousMove, false)) {
+				if (isLegalMove(board, move, previousMove, applyMove(board, move))) {
+					return true;
 				}
-				
-				movesSummary.addMoves(getMovesForPiece(board, new Cell(row, col), piece, previousMove, filterOutMovesResultingInCheck));
 			}
 		}
 		
+		return false;
+	}
+	
+	private static MovesSummary addAllMoves(MovesSummary movesSummary, BoardModel board, Side color, Move previousMove, 
+			boolean filterOutMovesResultingInCheck) {
+		for (long squares = board.getOccupiedSquares(color); squares != 0; squares &= squares - 1) {
+			Cell cell = Cell.of(Long.numberOfTrailingZeros(squares));
+			movesSummary.addMoves(getMovesForPiece(board, cell, board.getPiece(cell), previousMove, filterOutMovesResultingInCheck));
+		}
+		
 		return movesSummary;
 	}
 	
 	public static Collection<Move> getMovesForPawn(BoardModel board, Cell origin, ChessPiece pawn, Move prevMove, boolean filterCheck) {
 		List<Move> moves = new ArrayList<>();
-		Color color = pawn.getColor();
+		Side color = pawn.getSide();
 		
 		//one square forward 
-		int rowIncrement = pawn.getColor().equals(Color.WHITE) ? -1 : 1;
+		int rowIncrement = pawn.getSide() == Side.WHITE ? -1 : 1;
 		int row = origin.getRow() + rowIncrement;
 		int col = origin.getCol();
 		if (!isOutOfBounds(row, col) && isSquareEmpty(board, row, col)) {
@@ -63,14 +84,14 @@ public class MovesProcessor {
 		}
 		
 		//2 squares forward
-		boolean isPawnInStartingPosition = (color.equals(Color.WHITE) && origin.getRow() == 6) 
-										|| (color.equals(Color.BLACK) && origin.getRow() == 1);
+		boolean isPawnInStartingPosition = (color == Side.WHITE && origin.getRow() == 6) 
+										|| (color == Side.BLACK && origin.getRow() == 1);
 		if (isPawnInStartingPosition) {
 			int row2SquaresForward = origin.getRow() + (2 * rowIncrement);
 			int row1SquareForward = origin.getRow() + rowIncrement;
 			col = origin.getCol();
 			if (!isOutOfBounds(row2SquaresForward, col) && isSquareEmpty(board, row2SquaresForward, col) && isSquareEmpty(board, row1SquareForward, col)) {
-				moves.add(new Move(board, pawn, origin, new Cell(row2SquaresForward, col)));
+				moves.add(new Move(board, pawn, origin, Cell.of(row2SquaresForward, col)));
 			}
 		}
 		
@@ -81,7 +102,7 @@ public class MovesProcessor {
 			
 			if (!isOutOfBounds(row, col)) {
 				if (isEnPassantCapture(pawn, row, col, prevMove)) {
-					moves.add(new Move(board, pawn, origin, new Cell(row, col), true));
+					moves.add(new Move(board, pawn, origin, Cell.of(row, col), true));
 				} else if (isOccupiedByOpposingPiece(board, row, col, color)) {
 					createPawnMoveAndPossiblePromotionPermutations(board, pawn, origin, row, col, moves);
 				}
@@ -112,7 +133,7 @@ public class MovesProcessor {
 		}
 		
 		for (int i = leftCell.getCol() + 1; i < rightCell.getCol(); i++) {
-			if (board.isCellOccupied(new Cell(leftCell.getRow(), i))) {
+			if (board.isCellOccupied(Cell.of(leftCell.getRow(), i))) {
 				return false;
 			}
 		}
@@ -142,11 +163,11 @@ public class MovesProcessor {
             int row = origin.getRow() + knightMoveIncrement[0];
             int col = origin.getCol() + knightMoveIncrement[1];
 
-            if (isOutOfBounds(row, col) || isOccupiedByPeerPiece(board, row, col, knight.getColor())) {
+            if (isOutOfBounds(row, col) || isOccupiedByPeerPiece(board, row, col, knight.getSide())) {
                 continue;
             }
 
-            Cell newCell = new Cell(row, col);
+            Cell newCell = Cell.of(row, col);
             moves.add(new Move(board, knight, origin, newCell));
         }
 		
@@ -165,38 +186,55 @@ public class MovesProcessor {
 				.contains(move);
 	}
 	
-	public static boolean isCheckOnColor(BoardModel board, Color color, Move previousMove) {
-		MovesSummary opponentMoves = 
-				getAllMoves(board, Utils.getOpponentColor(color), previousMove, false);
+	public static boolean isCheckOnColor(BoardModel board, Side color, Move previousMove) {
+		return (board.getKingSquares(color) & board.getAttackedSquares(color.opponent())) != 0;
+	}
+	
+	/**
+	 * @return true if any piece of color "attacker" could capture on "cell" (a lookup in the board's attack maps)
+	 */
+	public static boolean isCellAttacked(BoardModel board, Cell cell, Side attacker) {
+		return board.isAttacked(cell, attacker);
+	}
+	
+	/**
+	 * @param move one of the pseudo-legal moves (i.e. generated with filterCheck = false)
+	 * @param boardAfterMove the result of applyMove(board, move), passed in since callers usually need it anyway
+	 * @return true if "move" doesn't leave the mover's king in check, by the same rules as the filtered generators (capturing the 
+	 * 		opposing king is always allowed, castling out of check isn't)
+	 */
+	public static boolean isLegalMove(BoardModel board, Move move, Move previousMove, BoardModel boardAfterMove) {
+		ChessPiece piece = move.getPiece();
+		if (willMoveCaptureOpposingKing(board, move, piece)) {
+			return true;
+		}
+		if (move.isCastling() && isCastlingPathAttacked(board, move)) {
+			return false;
+		}
 		
-		Collection<Move> captureKingMoves = opponentMoves.getMovesForCapturedPieceType(PieceType.KING);
-		return captureKingMoves != null && !captureKingMoves.isEmpty();
+		return !isCheckOnColor(boardAfterMove, piece.getSide(), move);
 	}
 	
-	public static boolean isCheckMateOnColor(BoardModel board, Color color, Move previousMove) {
-		return isCheckOnColor(board, color, previousMove) &&
-				getAllMoves(board, color, previousMove, true).getNumberOfMoves() == 0;
+	/**
+	 * @see MateDetector#isCheckMate(BoardModel, Side, Move)
+	 */
+	public static boolean isCheckMateOnColor(BoardModel board, Side color, Move previousMove) {
+		return MateDetector.isCheckMate(board, color, previousMove);
 	}
 	
-	public static boolean isStaleMateOnColor(BoardModel board, Color color, Move previousMove) {
+	public static boolean isStaleMateOnColor(BoardModel board, Side color, Move previousMove) {
 		return !isCheckOnColor(board, color, previousMove) &&
-				getAllMoves(board, color, previousMove, true).getNumberOfMoves() == 0;
+				!hasLegalMove(board, color, previousMove);
 	}
 	
-	public static Cell locateKing(BoardModel board, Color color) {
-		Collection<Cell> cells = locateKings(board, color);
-		return cells.isEmpty() ? null : cells.iterator().next();
+	public static Cell locateKing(BoardModel board, Side color) {
+		return board.getKingCell(color);
 	}
 	
-	public static Collection<Cell> locateKings(BoardModel board, Color color) {
+	public static Collection<Cell> locateKings(BoardModel board, Side color) {
 		Collection<Cell> cells = new ArrayList<>();
-		ChessPiece king = color.equals(Color.WHITE) ? ChessPiece.WHITE_KING : ChessPiece.BLACK_KING;
-		for (byte row = 0; row < 8; row++) {
-			for (byte col = 0; col < 8; col++) {
-				if (board.getPiece(row, col).equals(king)) {
-					cells.add(new Cell(row, col));
-				}
-			}
+		for (long squares = board.getKingSquares(color); squares != 0; squares &= squares - 1) {
+			cells.add(Cell.of(Long.numberOfTrailingZeros(squares)));
 		}
 		
 		return cells;
@@ -222,7 +260,7 @@ public class MovesProcessor {
 			CellPair cellPair = getCellPairForRookOnCastle(move);
 			
 			clone.placePiece(cellPair.toCell(),
-					move.getPiece().getColor().equals(Color.WHITE) ? ChessPiece.WHITE_ROOK : ChessPiece.BLACK_ROOK);
+					move.getPiece().getSide() == Side.WHITE ? ChessPiece.WHITE_ROOK : ChessPiece.BLACK_ROOK);
 			
 			//remove rook from original place
 			clone.removePiece(cellPair.fromCell(), true);
@@ -261,7 +299,7 @@ public class MovesProcessor {
 			CellPair cellPair = getCellPairForRookOnCastle(move);
 			
 			clone.placePiece(cellPair.fromCell(),
-					move.getPiece().getColor().equals(Color.WHITE) ? ChessPiece.WHITE_ROOK : ChessPiece.BLACK_ROOK);
+					move.getPiece().getSide() == Side.WHITE ? ChessPiece.WHITE_ROOK : ChessPiece.BLACK_ROOK);
 			
 			//move rook from original place
 			clone.removePiece(cellPair.toCell(), true);
@@ -273,7 +311,7 @@ public class MovesProcessor {
 	private static CellPair getCellPairForRookOnCastle(Move move) {
 		Cell rookTargetCell, rookOriginCell;
 		
-		if (move.getPiece().getColor().equals(Color.WHITE)) {
+		if (move.getPiece().getSide() == Side.WHITE) {
 			//check if king-side or queen side
 			if (move.getTarget().equals(CASTLE_CELL_KING_WHITE_KINGSIDE)) {
 				rookTargetCell = CASTLE_CELL_ROOK_WHITE_KINGSIDE;
@@ -295,7 +333,17 @@ public class MovesProcessor {
 		return new CellPair(rookOriginCell, rookTargetCell);
 	}
 	
-	public static boolean willMoveResultInCheckForColor(BoardModel board, Move move, Color player, Move previousMove) {
+	/**
+	 * @return true if the king castling in "move" starts on, or passes over, a square attacked by the opponent
+	 * (the landing square is covered by the regular check-after-move test)
+	 */
+	private static boolean isCastlingPathAttacked(BoardModel board, Move move) {
+		Side opponent = move.getPiece().getSide().opponent();
+		return isCellAttacked(board, move.getSource(), opponent)
+				|| isCellAttacked(board, getCellPairForRookOnCastle(move).toCell(), opponent);
+	}
+	
+	public static boolean willMoveResultInCheckForColor(BoardModel board, Move move, Side player, Move previousMove) {
 		return isCheckOnColor(applyMove(board, move), player, move);
 	}
 	
@@ -306,7 +354,7 @@ public class MovesProcessor {
 	}
 	
 	public static boolean areSameColors(ChessPiece piece1, ChessPiece piece2) {
-		return piece1.getColor().equals(piece2.getColor());
+		return piece1.getSide() == piece2.getSide();
 	}
 	
 	public static boolean areOppositeColors(ChessPiece piece1, ChessPiece piece2) {
@@ -337,9 +385,9 @@ public class MovesProcessor {
 		List<Move> moves = new ArrayList<>();
 		
 		for (Direction direction : directions) {
-			int numMovesInDirection = numberOfAvailableSquaresInDirection(board, origin, piece.getColor(), direction);
+			int numMovesInDirection = numberOfAvailableSquaresInDirection(board, origin, piece.getSide(), direction);
 			for (int i = 1; i <= numMovesInDirection && i <= limit; i++) {
-				Cell newCell = new Cell(origin.getRow() + (i * direction.getRowIncrement()), origin.getCol() + (i * direction.getColIncrement()));
+				Cell newCell = Cell.of(origin.getRow() + (i * direction.getRowIncrement()), origin.getCol() + (i * direction.getColIncrement()));
 				moves.add(new Move(board, piece, origin, newCell));
 			}
 		}
@@ -357,7 +405,7 @@ public class MovesProcessor {
 	 * 		opposing piece - i.e. capture it)).  
 	 * 		This method is only useful for "straight" or "diagonal" moves - and not for any of the special moves like knight moves, or castling.
 	 */
-	private static int numberOfAvailableSquaresInDirection(BoardModel board, Cell origin, Color color, Direction direction) {
+	private static int numberOfAvailableSquaresInDirection(BoardModel board, Cell origin, Side color, Direction direction) {
 		int moves = 0;
 		int row = origin.getRow();
 		int col = origin.getCol();
@@ -377,14 +425,14 @@ public class MovesProcessor {
 		}
 	}
 	
-	private static boolean isOccupiedByPeerPiece(BoardModel board, int row, int col, Color color) {
+	private static boolean isOccupiedByPeerPiece(BoardModel board, int row, int col, Side color) {
 		ChessPiece piece = board.getPiece((byte) row, (byte) col);
-		return piece != ChessPiece.NO_PIECE && piece.getColor() == color;
+		return piece != ChessPiece.NO_PIECE && piece.getSide() == color;
 	}
 	
-	private static boolean isOccupiedByOpposingPiece(BoardModel board, int row, int col, Color color) {
+	private static boolean isOccupiedByOpposingPiece(BoardModel board, int row, int col, Side color) {
 		ChessPiece piece = board.getPiece((byte) row, (byte) col);
-		return piece != ChessPiece.NO_PIECE && piece.getColor() != color;
+		return piece != ChessPiece.NO_PIECE && piece.getSide() != color;
 	}
 	
 	private static boolean isSquareEmpty(BoardModel board, int row, int col) {
@@ -395,7 +443,7 @@ public class MovesProcessor {
 		Collection<Move> validMoves = new ArrayList<>();
 		for (Move move : moves) {
 			if (willMoveCaptureOpposingKing(board, move, piece) ||
-				!willMoveResultInCheckForColor(board, move, piece.getColor(), previousMove)) {
+				!willMoveResultInCheckForColor(board, move, piece.getSide(), previousMove)) {
 				validMoves.add(move);
 			}
 		}
@@ -407,17 +455,16 @@ public class MovesProcessor {
 		 *  Note that we don't fully comply with the entire list of castling rules. Specifically, the following restrictions are ignored. 
 		 *  1) The king has been moved earlier in the game.
 		 *  2) The rook that castles has been moved earlier in the game.
-		 *  3) The king moves through a square that is attacked by a piece of the opponent. //FIXME
 		 */
 		
 		Collection<Move> moves = new ArrayList<>();
 		
-		//can't castle if king is in check
-		if (filterCheck && isCheckOnColor(board, king.getColor(), previousMove)) {
+		//can't castle if king is in check (or, further down, through an attacked square)
+		if (filterCheck && isCheckOnColor(board, king.getSide(), previousMove)) {
 			return moves;
 		}
 		
-		if (king.getColor().equals(Color.WHITE)) {
+		if (king.getSide() == Side.WHITE) {
 			if (origin.equals(STARTING_CELL_WHITE_KING)) { //only if king is in original position
 				if (board.getPiece(STARTING_CELL_WHITE_QUEENSIDE_ROOK).equals(ChessPiece.WHITE_ROOK)) {
 					//can't castle if there are any pieces between the king and rook					
@@ -447,18 +494,22 @@ public class MovesProcessor {
 			}
 		}
 		
+		if (filterCheck) {
+			moves.removeIf(move -> isCastlingPathAttacked(board, move));
+		}
+		
 		return moves;
 	}
 	
 	public static boolean isEnPassantCapture(ChessPiece pawn, int attackingPawnTargetRow, int attackingPawnTargetCol, Move prevMove) {
 		if (prevMove == null || prevMove.getPiece().getPieceType() != PieceType.PAWN
-				|| prevMove.getPiece().getColor().equals(pawn.getColor())) { //not a valid condition during game play (consecutive moves by same color) but is during setup
+				|| prevMove.getPiece().getSide() == pawn.getSide()) { //not a valid condition during game play (consecutive moves by same color) but is during setup
 			return false;
 		}
 		
 		//now that we've determined that the previous move was made by a pawn, check that it moved from its starting rank 2 squares 
 		//and that the attacking pawn's target square (e.g. targetRow, targetCol) is in between those 2 squares
-		if (prevMove.getPiece().getColor().equals(Color.WHITE)) {
+		if (prevMove.getPiece().getSide() == Side.WHITE) {
             return prevMove.getSource().getRow() == 6
                     && prevMove.getTarget().getRow() == 4
                     && attackingPawnTargetRow == 5
@@ -476,14 +527,14 @@ public class MovesProcessor {
 		
 		if (pawn.equals(ChessPiece.WHITE_PAWN) && targetRow == 0) {
 			for (ChessPiece promotedPiece : WHITE_PAWN_PROMOTION_PIECES) {
-				moves.add(new Move(board, pawn, origin, new Cell(targetRow, targetCol), promotedPiece));
+				moves.add(new Move(board, pawn, origin, Cell.of(targetRow, targetCol), promotedPiece));
 			}
 		} else if (pawn.equals(ChessPiece.BLACK_PAWN) && targetRow == 7) {
 			for (ChessPiece promotedPiece : BLACK_PAWN_PROMOTION_PIECES) {
-				moves.add(new Move(board, pawn, origin, new Cell(targetRow, targetCol), promotedPiece));
+				moves.add(new Move(board, pawn, origin, Cell.of(targetRow, targetCol), promotedPiece));
 			}
 		} else { //not a promotion
-			moves.add(new Move(board, pawn, origin, new Cell(targetRow, targetCol)));
+			moves.add(new Move(board, pawn, origin, Cell.of(targetRow, targetCol)));
 		}
 	}
 }
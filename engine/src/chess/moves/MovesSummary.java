@@ -0,0 +1,99 @@
+package chess.moves;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+
+import chess.model.BoardModel;
+import chess.model.PieceType;
+import chess.model.Side;
+
+/**
+ * The moves generated for one side. The by-piece-type indexes are only built when one of them is first asked for, since 
+ * most callers just iterate or count the moves. A counting summary (see {@link #counting(Side, BoardModel)}) doesn't keep 
+ * the moves at all.
+ */
+public class MovesSummary {
+	private final Collection<Move> moves;
+	private int numberOfMoves;
+	private Map<PieceType, Collection<Move>> byPieceType;
+	private Map<PieceType, Collection<Move>> byCapturedPiece;
+	//other ideas: byTargetCell?, byPromotedPieces?
+	
+	public MovesSummary(Side player, BoardModel board) {
+		this(player, board, false);
+	}
+	
+	private MovesSummary(Side player, BoardModel board, boolean countOnly) {
+		super();
+		if (player != Side.WHITE && player != Side.BLACK) {
+			throw new IllegalArgumentException("Side must be Black or White");
+		}
+		
+		if (board == null) {
+			throw new IllegalArgumentException("Board mustn't be null");
+		}
+
+		this.moves = countOnly ? null : new ArrayList<>();
+	}
+	
+	/**
+	 * @return a summary that only counts the moves added to it (getAllMoves() and the by-piece-type lookups aren't available)
+	 */
+	public static MovesSummary counting(Side player, BoardModel board) {
+		return new MovesSummary(player, board, true);
+	}
+	
+	public MovesSummary addMoves(Collection<Move> movesToAdd) {
+		numberOfMoves += movesToAdd.size();
+		if (moves != null) {
+			moves.addAll(movesToAdd);
+			byPieceType = null;
+			byCapturedPiece = null;
+		}
+		
+		return this;
+	}
+	
+	public Collection<Move> getAllMoves() {
+		checkNotCounting();
+		return moves;
+	}
+	
+	public int getNumberOfMoves() {
+		return numberOfMoves;
+	}
+
+	public Collection<Move> getMovesForPieceType(PieceType pieceType) {
+		checkNotCounting();
+		if (byPieceType == null) {
+			byPieceType = new EnumMap<>(PieceType.class);
+			for (Move move : moves) {
+				byPieceType.computeIfAbsent(move.getPiece().getPieceType(), k -> new ArrayList<>()).add(move);
+			}
+		}
+		
+		return byPieceType.get(pieceType);
+	}
+	
+	public Collection<Move> getMovesForCapturedPieceType(PieceType pieceType) {
+		checkNotCounting();
+		if (byCapturedPiece == null) {
+			byCapturedPiece = new EnumMap<>(PieceType.class);
+			for (Move move : moves) {
+				if (move.isCapturePiece()) {
+					byCapturedPiece.computeIfAbsent(move.getCapturedPiece().getPieceType(), k -> new ArrayList<>()).add(move);
+				}
+			}
+		}
+		
+		return byCapturedPiece.get(pieceType);
+	}
+	
+	private void checkNotCounting() {
+		if (moves == null) {
+			throw new IllegalStateException("Counting summary doesn't keep its moves");
+		}
+	}
+}
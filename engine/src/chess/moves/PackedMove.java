@@ -0,0 +1,45 @@
+package chess.moves;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.ChessPiece;
+
+/**
+ * Packs a move into 18 bits, e.g. for hash table entries: 0-5 source square, 6-11 target square, 12-16 promoted piece id 
+ * (0 if none), 17 en-passant. The piece (and captured piece) are read back off the board the move is unpacked for.
+ */
+public final class PackedMove {
+	public static final int BITS = 18;
+	
+	private static final int EN_PASSANT = 1 << 17;
+	
+	private PackedMove() {}
+	
+	public static int pack(Move move) {
+		return move.getSource().getIndex()
+				| move.getTarget().getIndex() << 6
+				| (move.isPromotePawn() ? move.getPromotedPiece().getId() : 0) << 12
+				| (move.isEnPassant() ? EN_PASSANT : 0);
+	}
+	
+	/**
+	 * @return the move, null if it doesn't fit the board (e.g. a hash key collision brought it to the wrong position)
+	 */
+	public static Move unpack(int packed, BoardModel board) {
+		Cell sourceCell = Cell.of(packed & 63);
+		Cell targetCell = Cell.of((packed >>> 6) & 63);
+		byte promotedPieceId = (byte) ((packed >>> 12) & 31);
+		ChessPiece piece = board.getPiece(sourceCell);
+		if (piece == ChessPiece.NO_PIECE) {
+			return null;
+		}
+		try {
+			if ((packed & EN_PASSANT) != 0) {
+				return new Move(board, piece, sourceCell, targetCell, true);
+			}
+			return new Move(board, piece, sourceCell, targetCell, promotedPieceId == 0 ? null : ChessPiece.fromId(promotedPieceId));
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+}
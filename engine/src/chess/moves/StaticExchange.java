@@ -0,0 +1,160 @@
+package chess.moves;
+
+import static chess.Utils.isOutOfBounds;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.ChessPiece;
+import chess.model.PieceType;
+import chess.model.Side;
+
+/**
+ * Static exchange evaluation (SEE): the material won or lost by a capture once every recapture on its target square has been
+ * played out, each side capturing with its least valuable attacker and stopping as soon as going on would lose material. 
+ * Sliders lined up behind a capturer (x-rays) join in as the pieces in front of them leave. Pins and checks are ignored, so 
+ * this is an estimate, good enough to order captures and to spot the obviously losing ones.
+ */
+public final class StaticExchange {
+	private static final int KING_VALUE = 10_000; //only captures last, since a capture of the king ends the exchange
+	private static final int[][] KNIGHT_JUMPS = MovesProcessor.knightMoveIncrements;
+	private static final Direction[] DIRECTIONS = Direction.values();
+	
+	private StaticExchange() {}
+	
+	/**
+	 * @return the material balance of the exchange for the side making "move", in centipawns (for a non-capture: what's lost
+	 * 		if the moved piece is taken on its target square, or 0)
+	 */
+	public static int evaluate(BoardModel board, Move move) {
+		Cell target = move.getTarget();
+		Side side = move.getPiece().getSide();
+		int gain = move.isCapturePiece() ? value(move.getCapturedPiece().getPieceType()) : 0;
+		ChessPiece pieceOnTarget = move.isPromotePawn() ? move.getPromotedPiece() : move.getPiece();
+		if (move.isPromotePawn()) {
+			gain += value(pieceOnTarget.getPieceType()) - value(PieceType.PAWN);
+		}
+		
+		//the attack maps settle the usual case: nothing recaptures (unless the move opens a line onto its own target square)
+		if (board.getAttackerCount(target, side.opponent()) == 0 && !isOnLine(move.getSource(), target) && !move.isEnPassant()) {
+			return gain;
+		}
+		
+		long occupied = board.getOccupiedSquares(Side.WHITE) | board.getOccupiedSquares(Side.BLACK);
+		occupied &= ~bit(move.getSource());
+		if (move.isEnPassant()) {
+			occupied &= ~bit(move.getEnPassantCaptureCell());
+		}
+		
+		int[] gains = new int[32];
+		gains[0] = gain;
+		int depth = 0;
+		Side capturer = side.opponent();
+		for (Cell attacker = getLeastValuableAttacker(board, target, capturer, occupied); attacker != null; 
+				attacker = getLeastValuableAttacker(board, target, capturer, occupied)) {
+			depth++;
+			gains[depth] = value(pieceOnTarget) - gains[depth - 1]; //if the exchange stopped after this capture
+			pieceOnTarget = board.getPiece(attacker);
+			if (pieceOnTarget.getPieceType() == PieceType.PAWN && (target.getRow() == 0 || target.getRow() == 7)) {
+				gains[depth] += value(PieceType.QUEEN) - value(PieceType.PAWN);
+				pieceOnTarget = capturer == Side.WHITE ? ChessPiece.WHITE_QUEEN : ChessPiece.BLACK_QUEEN;
+			}
+			occupied &= ~bit(attacker);
+			capturer = capturer.opponent();
+		}
+		
+		//each side may stop the exchange instead of recapturing
+		for (; depth > 0; depth--) {
+			gains[depth - 1] = -Math.max(-gains[depth - 1], gains[depth]);
+		}
+		return gains[0];
+	}
+	
+	/**
+	 * @return true if "move" doesn't lose material by the exchange it starts
+	 */
+	public static boolean isSafe(BoardModel board, Move move) {
+		return evaluate(board, move) >= 0;
+	}
+	
+	/**
+	 * @return the material value of a piece type, in centipawns (0 for the king)
+	 */
+	public static int value(PieceType type) {
+		return switch (type) {
+			case PAWN -> 100;
+			case KNIGHT -> 320;
+			case BISHOP -> 330;
+			case ROOK -> 500;
+			case QUEEN -> 900;
+			default -> 0;
+		};
+	}
+	
+	private static int value(ChessPiece piece) {
+		return piece.getPieceType() == PieceType.KING ? KING_VALUE : value(piece.getPieceType());
+	}
+	
+	/**
+	 * @param occupied the squares still occupied (the pieces that already captured are gone)
+	 * @return the cheapest piece of "side" attacking "target", null if none
+	 */
+	private static Cell getLeastValuableAttacker(BoardModel board, Cell target, Side side, long occupied) {
+		//pawns capture towards the opponent's side, so they attack from the row behind the target
+		int pawnRow = target.getRow() + (side == Side.WHITE ? 1 : -1);
+		for (int colIncrement : new int[]{-1, 1}) {
+			Cell cell = getPiece(board, pawnRow, target.getCol() + colIncrement, side, PieceType.PAWN, occupied);
+			if (cell != null) {
+				return cell;
+			}
+		}
+		for (int[] jump : KNIGHT_JUMPS) {
+			Cell cell = getPiece(board, target.getRow() + jump[0], target.getCol() + jump[1], side, PieceType.KNIGHT, occupied);
+			if (cell != null) {
+				return cell;
+			}
+		}
+		
+		Cell best = null;
+		int bestValue = Integer.MAX_VALUE;
+		for (Direction direction : DIRECTIONS) {
+			int row = target.getRow() + direction.getRowIncrement();
+			int col = target.getCol() + direction.getColIncrement();
+			while (!isOutOfBounds(row, col) && (occupied & (1L << (row * 8 + col))) == 0) {
+				row += direction.getRowIncrement();
+				col += direction.getColIncrement();
+			}
+			if (isOutOfBounds(row, col)) {
+				continue;
+			}
+			
+			ChessPiece piece = board.getPiece((byte) row, (byte) col);
+			PieceType type = piece.getPieceType();
+			boolean adjacent = row == target.getRow() + direction.getRowIncrement() && col == target.getCol() + direction.getColIncrement();
+			boolean attacks = type == PieceType.QUEEN || type == (direction.isDiagonal() ? PieceType.BISHOP : PieceType.ROOK)
+					|| type == PieceType.KING && adjacent;
+			if (piece.getSide() == side && attacks && value(piece) < bestValue) {
+				best = Cell.of(row, col);
+				bestValue = value(piece);
+			}
+		}
+		return best;
+	}
+	
+	private static Cell getPiece(BoardModel board, int row, int col, Side side, PieceType type, long occupied) {
+		if (isOutOfBounds(row, col) || (occupied & (1L << (row * 8 + col))) == 0) {
+			return null;
+		}
+		ChessPiece piece = board.getPiece((byte) row, (byte) col);
+		return piece.getSide() == side && piece.getPieceType() == type ? Cell.of(row, col) : null;
+	}
+	
+	private static boolean isOnLine(Cell from, Cell to) {
+		int rowDelta = Math.abs(to.getRow() - from.getRow());
+		int colDelta = Math.abs(to.getCol() - from.getCol());
+		return rowDelta == 0 || colDelta == 0 || rowDelta == colDelta;
+	}
+	
+	private static long bit(Cell cell) {
+		return 1L << cell.getIndex();
+	}
+}
@@ -0,0 +1,56 @@
+package chess.moves;
+
+import java.util.Random;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.PieceType;
+import chess.model.Side;
+
+/**
+ * 64-bit position keys (Zobrist hashing). The random numbers come from a fixed seed, so keys are stable between runs and can 
+ * be persisted (e.g. in a {@code SolveResultCache} file).
+ */
+public class Zobrist {
+	private static final long[][] PIECE_SQUARE_KEYS = new long[17][64]; //indexed by piece id, then by row * 8 + col
+	private static final long[] EN_PASSANT_COL_KEYS = new long[8];
+	private static final long BLACK_TO_MOVE_KEY;
+	
+	static {
+		Random random = new Random(0x2545F4914F6CDD1DL);
+		for (long[] squareKeys : PIECE_SQUARE_KEYS) {
+			for (int i = 0; i < squareKeys.length; i++) {
+				squareKeys[i] = random.nextLong();
+			}
+		}
+		for (int i = 0; i < EN_PASSANT_COL_KEYS.length; i++) {
+			EN_PASSANT_COL_KEYS[i] = random.nextLong();
+		}
+		BLACK_TO_MOVE_KEY = random.nextLong();
+	}
+	
+	private Zobrist() {}
+	
+	/**
+	 * @param previousMove only relevant if it was a 2-square pawn advance (i.e. en-passant may be possible)
+	 */
+	public static long hash(BoardModel board, Side sideToMove, Move previousMove) {
+		long key = 0;
+		long squares = board.getOccupiedSquares(Side.WHITE) | board.getOccupiedSquares(Side.BLACK);
+		for (; squares != 0; squares &= squares - 1) {
+			int index = Long.numberOfTrailingZeros(squares);
+			key ^= PIECE_SQUARE_KEYS[board.getPiece(Cell.of(index)).getId()][index];
+		}
+		
+		if (sideToMove == Side.BLACK) {
+			key ^= BLACK_TO_MOVE_KEY;
+		}
+		
+		if (previousMove != null && previousMove.getPiece().getPieceType() == PieceType.PAWN
+				&& Math.abs(previousMove.getSource().getRow() - previousMove.getTarget().getRow()) == 2) {
+			key ^= EN_PASSANT_COL_KEYS[previousMove.getTarget().getCol()];
+		}
+		
+		return key;
+	}
+}
@@ -0,0 +1,7 @@
+package chess.solver;
+
+import chess.model.BoardModel;
+import chess.model.Side;
+
+public record BatchPuzzle(String id, BoardModel board, Side colorToSolveFor, int maxMoves, int maxSeconds) {
+}
@@ -0,0 +1,32 @@
+package chess.solver;
+
+import chess.moves.Move;
+
+/**
+ * Outcome of a single {@link BatchPuzzle}. Exactly one of the following holds: the puzzle was solved ({@code move} is the
+ * first move of a mate in {@code mateIn}), it wasn't solved within the puzzle's limits, or it failed ({@code error} is set).
+ */
+public record BatchResult(String id, boolean solved, int mateIn, Move move, long movesCounter, long millis, Throwable error) {
+	
+	public static BatchResult failed(String id, Throwable error) {
+		return new BatchResult(id, false, 0, null, 0, 0, error);
+	}
+	
+	public boolean isFailed() {
+		return error != null;
+	}
+	
+	@Override
+	public String toString() {
+		if (isFailed()) {
+			return String.format("%s\tFAILED\t%s", id, error);
+		}
+		
+		if (!solved) {
+			return String.format("%s\tUNSOLVED\t\t%s ms\t%s moves", id, millis, movesCounter);
+		}
+		
+		return String.format("%s\tMATE IN %s\t%s %s-%s\t%s ms\t%s moves", id, mateIn, move.getPiece(), 
+				move.getSource().getLabel(), move.getTarget().getLabel(), millis, movesCounter);
+	}
+}
@@ -0,0 +1,269 @@
+package chess.solver;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import chess.model.BoardModel;
+import chess.model.Side;
+import chess.moves.Zobrist;
+import chess.tablebase.Tablebases;
+
+/**
+ * Solves many independent puzzles in parallel. Each puzzle is a single task on a work-stealing {@link ForkJoinPool}, so idle
+ * workers pick up queued puzzles from busy ones and the pool stays saturated even though puzzle run times vary wildly.
+ * The number of queued (or in progress) puzzles is bounded - {@link #submit(BatchPuzzle)} blocks once the bound is reached, 
+ * which keeps the reader from loading the whole input into memory ahead of the solvers.
+ * A puzzle that throws is reported as a failed {@link BatchResult} and doesn't affect any of the other puzzles.
+ */
+public class BatchSolver implements AutoCloseable {
+	private final ForkJoinPool pool;
+	private final Semaphore queueSlots;
+	private final int maxQueuedPuzzles;
+	private final Consumer<BatchResult> resultConsumer;
+	private SolveResultCache resultCache;
+	private Tablebases tablebases;
+	private TranspositionTable transpositionTable;
+	private boolean threatPruning;
+	private Path checkpointDirectory;
+	private int checkpointIntervalSeconds;
+	
+	/**
+	 * @param resultConsumer called once per puzzle (from the worker threads, but never concurrently)
+	 */
+	public BatchSolver(int parallelism, int maxQueuedPuzzles, Consumer<BatchResult> resultConsumer) {
+		super();
+		if (parallelism < 1 || maxQueuedPuzzles < 1) {
+			throw new IllegalArgumentException("parallelism and maxQueuedPuzzles must be positive");
+		}
+		
+		//async mode = FIFO scheduling of the (never joined) puzzle tasks
+		this.pool = new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+		this.queueSlots = new Semaphore(maxQueuedPuzzles);
+		this.maxQueuedPuzzles = maxQueuedPuzzles;
+		this.resultConsumer = resultConsumer;
+	}
+	
+	/**
+	 * Queues the puzzle, blocking while the maximum number of puzzles are already queued or being solved.
+	 */
+	public void submit(BatchPuzzle puzzle) throws InterruptedException {
+		queueSlots.acquire();
+		try {
+			pool.execute(() -> {
+				try {
+					publish(solve(puzzle));
+				} finally {
+					queueSlots.release();
+				}
+			});
+		} catch (RuntimeException e) { //e.g. pool already shut down
+			queueSlots.release();
+			throw e;
+		}
+	}
+	
+	/**
+	 * @param resultCache shared by all workers, may be null
+	 */
+	public void setResultCache(SolveResultCache resultCache) {
+		this.resultCache = resultCache;
+	}
+	
+	/**
+	 * @param tablebases shared (read-only) by all workers, may be null
+	 */
+	public void setTablebases(Tablebases tablebases) {
+		this.tablebases = tablebases;
+	}
+	
+	/**
+	 * @param transpositionTable shared by all workers (and by other processes, if it's file-backed), may be null
+	 */
+	public void setTranspositionTable(TranspositionTable transpositionTable) {
+		this.transpositionTable = transpositionTable;
+	}
+	
+	/**
+	 * @param threatPruning see {@link Solver#setThreatPruning(boolean)} (unsound for zugzwang problems)
+	 */
+	public void setThreatPruning(boolean threatPruning) {
+		this.threatPruning = threatPruning;
+	}
+	
+	/**
+	 * @param directory where each solve saves its progress every intervalSeconds (see {@link Solver#setCheckpoint(Path, int)}), 
+	 * 		so that rerunning an interrupted batch resumes the long solves, may be null
+	 */
+	public void setCheckpointDirectory(Path directory, int intervalSeconds) {
+		this.checkpointDirectory = directory;
+		this.checkpointIntervalSeconds = intervalSeconds;
+	}
+	
+	/**
+	 * Blocks until every submitted puzzle has been reported.
+	 */
+	public void awaitCompletion() throws InterruptedException {
+		queueSlots.acquire(maxQueuedPuzzles);
+		queueSlots.release(maxQueuedPuzzles);
+	}
+	
+	/**
+	 * Waits for the queued puzzles to be solved (if interrupted, they're left to finish in the background).
+	 */
+	@Override
+	public void close() {
+		pool.shutdown();
+		try {
+			pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Same approach as the GUI: try to solve in the least amount of moves first, so the reported mate is the shortest one.
+	 */
+	BatchResult solve(BatchPuzzle puzzle) {
+		long startMillis = System.currentTimeMillis();
+		long movesCounter = 0;
+		try {
+			for (int maxMoves = 1; maxMoves <= puzzle.maxMoves(); maxMoves++) {
+				Solver solver = new Solver(puzzle.board(), puzzle.colorToSolveFor(), null);
+				solver.setVerbose(false);
+				solver.setResultCache(resultCache);
+				solver.setTablebases(tablebases);
+				solver.setTranspositionTable(transpositionTable);
+				solver.setThreatPruning(threatPruning);
+				if (checkpointDirectory != null) {
+					long key = Zobrist.hash(puzzle.board(), puzzle.colorToSolveFor(), null);
+					solver.setCheckpoint(checkpointDirectory.resolve(String.format("%016x-%s.checkpoint", key, maxMoves)), 
+							checkpointIntervalSeconds);
+				}
+				boolean solved = solver.tryToSolveIn(maxMoves, puzzle.maxSeconds());
+				movesCounter += solver.getMovesCounter();
+				if (solved) {
+					return new BatchResult(puzzle.id(), true, maxMoves, solver.getNextMoveIfSolved(), movesCounter, 
+							System.currentTimeMillis() - startMillis, null);
+				}
+			}
+			
+			return new BatchResult(puzzle.id(), false, 0, null, movesCounter, System.currentTimeMillis() - startMillis, null);
+		} catch (RuntimeException | StackOverflowError e) { //includes cache I/O errors (UncheckedIOException)
+			return BatchResult.failed(puzzle.id(), e);
+		}
+	}
+	
+	private void publish(BatchResult result) {
+		synchronized (resultConsumer) {
+			resultConsumer.accept(result);
+		}
+	}
+	
+	/**
+	 * Reads a puzzle list (one puzzle per line: {@code <board file> <WHITE|BLACK> <max moves> <max seconds>}, '#' for comments) 
+	 * and prints one result line per puzzle. Board files are in the format saved by the GUI and are resolved relative to the 
+	 * puzzle list's directory. If a cache file is given, results are looked up in (and added to) that {@link SolveResultCache}.
+	 * Tablebases are loaded from the directory in the "chess.tablebases" system property (if set). The workers share a 
+	 * transposition table of "chess.ttSizeMb" MB (default 256), which is mapped from the file in "chess.tt" if set (so that
+	 * several batch processes can share it) and private to this process otherwise. Setting "chess.threatPruning" to true turns on
+	 * threat pruning (faster, but zugzwang problems are reported unsolved). If "chess.checkpoints" names a directory, solves
+	 * save their progress there every "chess.checkpointSeconds" seconds (default 60) and resume from it when rerun.
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException {
+		if (args.length < 1) {
+			System.err.println("usage: BatchSolver <puzzle list file> [threads] [cache file]");
+			System.exit(1);
+		}
+		
+		Path listFile = Paths.get(args[0]);
+		Path baseDir = listFile.toAbsolutePath().getParent();
+		int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		Consumer<BatchResult> printer = System.out::println;
+		
+		long startMillis = System.currentTimeMillis();
+		int count = 0;
+		try (SolveResultCache resultCache = args.length > 2 ? SolveResultCache.open(Paths.get(args[2])) : null;
+			 BatchSolver batchSolver = new BatchSolver(threads, threads * 4, printer);
+			 BufferedReader br = Files.newBufferedReader(listFile)) {
+			
+			batchSolver.setResultCache(resultCache);
+			configure(batchSolver);
+			String line;
+			while ((line = br.readLine()) != null) {
+				line = line.trim();
+				if (line.isEmpty() || line.startsWith("#")) {
+					continue;
+				}
+				
+				count++;
+				BatchPuzzle puzzle;
+				try {
+					puzzle = parsePuzzle(line, baseDir);
+				} catch (IOException | RuntimeException e) {
+					synchronized (printer) {
+						printer.accept(BatchResult.failed(line, e));
+					}
+					continue;
+				}
+				batchSolver.submit(puzzle);
+			}
+			
+			batchSolver.awaitCompletion();
+		}
+		
+		System.err.printf("processed %s puzzle(s) in %s seconds with %s thread(s)%n", 
+				count, (System.currentTimeMillis() - startMillis) / 1000d, threads);
+	}
+	
+	/**
+	 * sets up the tablebases, transposition table, threat pruning and checkpoints from the system properties (see main)
+	 */
+	static void configure(BatchSolver batchSolver) throws IOException {
+		String tablebasesDirectory = System.getProperty("chess.tablebases");
+		if (tablebasesDirectory != null) {
+			batchSolver.setTablebases(Tablebases.load(Paths.get(tablebasesDirectory)));
+		}
+		int ttSizeMb = Integer.getInteger("chess.ttSizeMb", 256);
+		String ttFile = System.getProperty("chess.tt");
+		batchSolver.setTranspositionTable(ttFile != null 
+				? TranspositionTable.open(Paths.get(ttFile), ttSizeMb) : TranspositionTable.allocate(ttSizeMb));
+		batchSolver.setThreatPruning(Boolean.getBoolean("chess.threatPruning"));
+		String checkpointDirectory = System.getProperty("chess.checkpoints");
+		if (checkpointDirectory != null) {
+			batchSolver.setCheckpointDirectory(Files.createDirectories(Paths.get(checkpointDirectory)), 
+					Integer.getInteger("chess.checkpointSeconds", 60));
+		}
+	}
+	
+	static BatchPuzzle parsePuzzle(String line, Path baseDir) throws IOException {
+		String[] ary = line.split("\\s+");
+		if (ary.length < 4) {
+			throw new IllegalArgumentException("Expected <board file> <WHITE|BLACK> <max moves> <max seconds>");
+		}
+		
+		Side color;
+		if ("WHITE".equalsIgnoreCase(ary[1])) {
+			color = Side.WHITE;
+		} else if ("BLACK".equalsIgnoreCase(ary[1])) {
+			color = Side.BLACK;
+		} else {
+			throw new IllegalArgumentException("invalid color " + ary[1]);
+		}
+		
+		BoardModel board;
+		try (Reader reader = new FileReader(baseDir.resolve(ary[0]).toFile())) {
+			board = BoardModel.parse(reader);
+		}
+		
+		return new BatchPuzzle(ary[0], board, color, Integer.parseInt(ary[2]), Integer.parseInt(ary[3]));
+	}
+}
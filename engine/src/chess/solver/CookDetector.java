@@ -0,0 +1,174 @@
+package chess.solver;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import chess.model.BoardModel;
+import chess.model.Side;
+import chess.moves.Move;
+import chess.moves.MovesProcessor;
+import chess.tablebase.Tablebases;
+
+/**
+ * Finds every key move of a mate-in-N problem (the {@link Solver} stops at the first one), which is what's needed to tell
+ * whether a problem is sound or "cooked" (has more than one solution).
+ * <p>
+ * Every legal first move is proven or disproven as a separate task on a {@link ForkJoinPool}: after the key, each of the
+ * defender's replies must lead to a mate in one move less, tried at increasing depths so the reported mate is the shortest
+ * one. All tasks share one transposition table, so positions proven (or refuted) while checking one key aren't searched
+ * again for another.
+ */
+public class CookDetector {
+	private static final int NO_MATE = -1;
+	private static final int UNDECIDED = -2;
+	private static final int DEFAULT_TT_SIZE_MB = 64;
+	
+	private final int parallelism;
+	private Tablebases tablebases;
+	private TranspositionTable transpositionTable;
+	
+	public CookDetector(int parallelism) {
+		super();
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism must be positive");
+		}
+		
+		this.parallelism = parallelism;
+	}
+	
+	/**
+	 * @param tablebases shared (read-only) by all tasks, may be null
+	 */
+	public void setTablebases(Tablebases tablebases) {
+		this.tablebases = tablebases;
+	}
+	
+	/**
+	 * @param transpositionTable shared by all tasks, may be null (a private table is allocated per run)
+	 */
+	public void setTranspositionTable(TranspositionTable transpositionTable) {
+		this.transpositionTable = transpositionTable;
+	}
+	
+	/**
+	 * @param maxSeconds for the whole run, moves not decided by then are reported as undecided
+	 */
+	public CookReport findKeys(BoardModel board, Side attacker, Move previousMove, int maxMoves, int maxSeconds) {
+		List<Move> moves = new ArrayList<>(MovesProcessor.getAllMoves(board, attacker, previousMove, true).getAllMoves());
+		TranspositionTable table = transpositionTable != null ? transpositionTable : TranspositionTable.allocate(DEFAULT_TT_SIZE_MB);
+		long deadlineMillis = System.currentTimeMillis() + maxSeconds * 1000L;
+		
+		List<KeyMove> keys = new ArrayList<>();
+		List<Move> undecided = new ArrayList<>();
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			List<ForkJoinTask<Integer>> tasks = new ArrayList<>();
+			for (Move move : moves) {
+				tasks.add(pool.submit(() -> mateIn(board, attacker, move, maxMoves, deadlineMillis, table)));
+			}
+			
+			for (int i = 0; i < moves.size(); i++) {
+				int mateIn = tasks.get(i).join();
+				if (mateIn == UNDECIDED) {
+					undecided.add(moves.get(i));
+				} else if (mateIn != NO_MATE) {
+					keys.add(new KeyMove(moves.get(i), mateIn));
+				}
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		
+		keys.sort(Comparator.comparingInt(KeyMove::mateIn));
+		return new CookReport(keys, undecided);
+	}
+	
+	/**
+	 * @return the shortest mate (counting the key) that "key" forces within maxMoves, NO_MATE or UNDECIDED (out of time)
+	 */
+	private int mateIn(BoardModel board, Side attacker, Move key, int maxMoves, long deadlineMillis, TranspositionTable table) {
+		BoardModel boardAfterKey = MovesProcessor.applyMove(board, key);
+		Side defender = attacker.opponent();
+		if (!MovesProcessor.hasLegalMove(boardAfterKey, defender, key)) {
+			return MovesProcessor.isCheckOnColor(boardAfterKey, defender, key) ? 1 : NO_MATE; //mate, or stale-mate (never a key)
+		}
+		
+		List<Move> replies = new ArrayList<>(MovesProcessor.getAllMoves(boardAfterKey, defender, key, true).getAllMoves());
+		for (int depth = 2; depth <= maxMoves; depth++) {
+			boolean refuted = false;
+			for (Move reply : replies) {
+				int secondsLeft = (int) Math.ceil((deadlineMillis - System.currentTimeMillis()) / 1000d);
+				if (secondsLeft <= 0) {
+					return UNDECIDED;
+				}
+				
+				Solver solver = new Solver(MovesProcessor.applyMove(boardAfterKey, reply), attacker, reply);
+				solver.setVerbose(false);
+				solver.setTablebases(tablebases);
+				solver.setTranspositionTable(table);
+				if (!solver.tryToSolveIn(depth - 1, secondsLeft)) {
+					if (solver.isTimedOut()) {
+						return UNDECIDED;
+					}
+					refuted = true;
+					break;
+				}
+			}
+			if (!refuted) {
+				return depth;
+			}
+		}
+		
+		return NO_MATE;
+	}
+	
+	/**
+	 * Reads a puzzle list in the {@link BatchSolver} format and prints every key of each puzzle, flagging the cooked ones.
+	 * Tablebases are loaded from the directory in the "chess.tablebases" system property (if set).
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1) {
+			System.err.println("usage: CookDetector <puzzle list file> [threads]");
+			System.exit(1);
+		}
+		
+		Path listFile = Paths.get(args[0]);
+		Path baseDir = listFile.toAbsolutePath().getParent();
+		int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		CookDetector cookDetector = new CookDetector(threads);
+		String tablebasesDirectory = System.getProperty("chess.tablebases");
+		if (tablebasesDirectory != null) {
+			cookDetector.setTablebases(Tablebases.load(Paths.get(tablebasesDirectory)));
+		}
+		
+		try (BufferedReader br = Files.newBufferedReader(listFile)) {
+			String line;
+			while ((line = br.readLine()) != null) {
+				line = line.trim();
+				if (line.isEmpty() || line.startsWith("#")) {
+					continue;
+				}
+				
+				try {
+					BatchPuzzle puzzle = BatchSolver.parsePuzzle(line, baseDir);
+					CookReport report = cookDetector.findKeys(puzzle.board(), puzzle.colorToSolveFor(), null,
+							puzzle.maxMoves(), puzzle.maxSeconds());
+					String verdict = report.hasUniqueKey() ? "SOUND" : report.keys().size() > 1 ? "COOKED"
+							: !report.isComplete() ? "UNDECIDED" : "NO SOLUTION";
+					System.out.printf("%s\t%s\t%s%s%n", puzzle.id(), verdict, report.keys(),
+							report.isComplete() ? "" : "\tundecided: " + report.undecided().size());
+				} catch (IOException | RuntimeException e) {
+					System.out.printf("%s\tFAILED\t%s%n", line, e);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package chess.solver;
+
+import java.util.List;
+
+import chess.moves.Move;
+
+/**
+ * Outcome of a {@link CookDetector} run: every key move found (shortest mates first) and the moves that couldn't be proven
+ * or disproven in the time allowed.
+ */
+public record CookReport(List<KeyMove> keys, List<Move> undecided) {
+	
+	/**
+	 * @return true if every move was decided, so {@link #keys()} is the complete set of solutions
+	 */
+	public boolean isComplete() {
+		return undecided.isEmpty();
+	}
+	
+	/**
+	 * @return true if the problem is sound: exactly one key and no undecided moves that could turn out to be cooks
+	 */
+	public boolean hasUniqueKey() {
+		return keys.size() == 1 && isComplete();
+	}
+}
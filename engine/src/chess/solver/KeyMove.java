@@ -0,0 +1,14 @@
+package chess.solver;
+
+import chess.moves.Move;
+
+/**
+ * A key (first) move of a problem, i.e. a move that forces mate in {@code mateIn} moves (counting the key itself).
+ */
+public record KeyMove(Move move, int mateIn) {
+	
+	@Override
+	public String toString() {
+		return String.format("%s %s-%s (mate in %s)", move.getPiece(), move.getSource().getLabel(), move.getTarget().getLabel(), mateIn);
+	}
+}
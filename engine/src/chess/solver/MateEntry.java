@@ -0,0 +1,57 @@
+package chess.solver;
+
+import chess.model.BoardModel;
+import chess.moves.Move;
+import chess.moves.PackedMove;
+
+/**
+ * Packs mate search results into {@link TranspositionTable} data: "mate within N moves" (proven, with the move that proves
+ * it) or "no mate within N moves" (disproven).
+ * <p>
+ * Bits: 0-7 depth (N), 8 proven, 9 has move, 10-27 the move ({@link PackedMove}: 10-15 source square, 16-21 target 
+ * square, 22-26 promoted piece id, 27 en-passant), 63 always set (so the data is never 0).
+ */
+class MateEntry {
+	private static final long PROVEN = 1L << 8;
+	private static final long HAS_MOVE = 1L << 9;
+	private static final long NON_EMPTY = 1L << 63;
+	
+	private MateEntry() {}
+	
+	static long proven(int depth, Move move) {
+		long data = NON_EMPTY | PROVEN | depth;
+		if (move != null) {
+			data |= HAS_MOVE | (long) PackedMove.pack(move) << 10;
+		}
+		return data;
+	}
+	
+	static long disproven(int depth) {
+		return NON_EMPTY | depth;
+	}
+	
+	static int depth(long data) {
+		return TranspositionTable.depthOf(data);
+	}
+	
+	static boolean isProven(long data) {
+		return (data & PROVEN) != 0;
+	}
+	
+	/**
+	 * @return true if the entry settles a "mate within remainingMoves?" query
+	 */
+	static boolean answers(long data, int remainingMoves) {
+		return isProven(data) ? depth(data) <= remainingMoves : depth(data) >= remainingMoves;
+	}
+	
+	/**
+	 * @return the stored move, null if there's none or it doesn't fit the board (i.e. a key collision)
+	 */
+	static Move move(long data, BoardModel board) {
+		if ((data & HAS_MOVE) == 0) {
+			return null;
+		}
+		return PackedMove.unpack((int) (data >>> 10) & ((1 << PackedMove.BITS) - 1), board);
+	}
+}
@@ -0,0 +1,55 @@
+package chess.solver;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.Side;
+
+/**
+ * Material signatures that can never mate, checked before searching: the attacker's bare king, and a single minor piece (or
+ * bishops all on squares of one color) against the bare king. With pawns, a rook, a queen or two minor pieces (even two 
+ * knights, which can't force mate in general but can from some positions), or when the defender has other pieces (that can 
+ * block their own king's escape), a mate may be possible.
+ */
+public final class MatingMaterial {
+	private static final long DARK_SQUARES = 0x55AA55AA55AA55AAL; //bit row * 8 + col is set if (row + col) is odd (e.g. b8)
+	
+	private MatingMaterial() {}
+	
+	/**
+	 * @return false if "attacker" certainly can't force mate, whatever the position (true means a search is needed)
+	 */
+	public static boolean isSufficient(BoardModel board, Side attacker) {
+		int knights = 0;
+		boolean lightBishop = false;
+		boolean darkBishop = false;
+		for (long squares = board.getOccupiedSquares(attacker); squares != 0; squares &= squares - 1) {
+			int index = Long.numberOfTrailingZeros(squares);
+			switch (board.getPiece(Cell.of(index)).getPieceType()) {
+				case PAWN, ROOK, QUEEN -> {
+					return true;
+				}
+				case KNIGHT -> knights++;
+				case BISHOP -> {
+					if ((DARK_SQUARES & (1L << index)) != 0) {
+						darkBishop = true;
+					} else {
+						lightBishop = true;
+					}
+				}
+				default -> {}
+			}
+		}
+		
+		if (knights == 0 && !lightBishop && !darkBishop) {
+			return false; //a king alone never even gives check
+		}
+		if (Long.bitCount(board.getOccupiedSquares(attacker.opponent())) > 1) {
+			return true; //the defender's own pieces may take away its king's escape squares
+		}
+		
+		if (knights == 0) {
+			return lightBishop && darkBishop; //bishops all on squares of one color never attack the other color's squares
+		}
+		return knights > 1 || lightBishop || darkBishop; //a single knight can't mate
+	}
+}
@@ -0,0 +1,176 @@
+package chess.solver;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import chess.model.BoardModel;
+import chess.model.Side;
+import chess.moves.Move;
+import chess.moves.MovePicker;
+import chess.tablebase.Tablebases;
+
+/**
+ * Solves ahead while the user is thinking ("pondering"): after the solver plays a move, the positions reachable by the
+ * defender's replies are solved in the background, so that when the user plays one of those replies the next answer is a
+ * lookup. Solutions are kept in a bounded cache keyed by position (least recently used ones are dropped first).
+ * <p>
+ * Only mates are remembered, a null answer just means "search as usual".
+ */
+public class Ponderer implements AutoCloseable {
+	private static final Comparator<Move> REPLY_ORDER = new MovesSolverComparator();
+	
+	private final ExecutorService executor;
+	private final int maxReplies;
+	private final Map<PositionKey, Pondering> ponderings;
+	private Tablebases tablebases;
+	private TranspositionTable transpositionTable;
+	
+	private record PositionKey(BoardModel board, Side colorToSolveFor, Move previousMove) {}
+	
+	private record Pondering(Solver solver, int maxMoves, CompletableFuture<Move> future) {
+	
+		void stop() {
+			solver.stop();
+			future.cancel(false);
+		}
+		
+		boolean isSolved() {
+			return future.isDone() && !future.isCompletedExceptionally() && future.getNow(null) != null;
+		}
+	}
+	
+	/**
+	 * @param threads number of positions solved at the same time
+	 * @param maxReplies number of defender replies pondered after each move (the likeliest ones: checks, then captures, then
+	 * 		the rest)
+	 * @param maxPositions number of positions kept in the cache
+	 */
+	public Ponderer(int threads, int maxReplies, int maxPositions) {
+		super();
+		if (threads < 1 || maxReplies < 1 || maxPositions < 1) {
+			throw new IllegalArgumentException("threads, maxReplies and maxPositions must be positive");
+		}
+		
+		this.maxReplies = maxReplies;
+		this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "ponderer");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.ponderings = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<PositionKey, Pondering> eldest) {
+				if (size() > maxPositions) {
+					eldest.getValue().stop();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+	
+	/**
+	 * @param tablebases used by the background solvers, may be null
+	 */
+	public void setTablebases(Tablebases tablebases) {
+		this.tablebases = tablebases;
+	}
+	
+	/**
+	 * @param transpositionTable shared by the background solvers (and typically with the foreground one), may be null
+	 */
+	public void setTranspositionTable(TranspositionTable transpositionTable) {
+		this.transpositionTable = transpositionTable;
+	}
+	
+	/**
+	 * Stops whatever is still being pondered and starts solving the positions after the defender's replies to "move".
+	 *
+	 * @param board the board after "move" (played by colorToSolveFor)
+	 * @param maxMoves the number of moves still available to mate after the defender's reply
+	 */
+	public synchronized void ponder(BoardModel board, Side colorToSolveFor, Move move, int maxMoves, int maxSeconds) {
+		stopAllExcept(null);
+		if (maxMoves < 1) {
+			return;
+		}
+		
+		MovePicker picker = new MovePicker(board, colorToSolveFor.opponent(), move, null, REPLY_ORDER);
+		int replies = 0;
+		for (Move reply = picker.next(); reply != null && replies < maxReplies; reply = picker.next()) {
+			replies++;
+			PositionKey key = new PositionKey(picker.getBoardAfterMove(), colorToSolveFor, reply);
+			Pondering existing = ponderings.get(key);
+			if (existing != null && existing.maxMoves() <= maxMoves) {
+				continue; //already solved
+			}
+			
+			Solver solver = new Solver(key.board(), colorToSolveFor, reply);
+			solver.setVerbose(false);
+			solver.setTablebases(tablebases);
+			solver.setTranspositionTable(transpositionTable);
+			CompletableFuture<Move> future = CompletableFuture.supplyAsync(
+					() -> solver.tryToSolveIn(maxMoves, maxSeconds) ? solver.getNextMoveIfSolved() : null, executor);
+			ponderings.put(key, new Pondering(solver, maxMoves, future));
+		}
+	}
+	
+	/**
+	 * Stops pondering any other position, and waits for this one if it's still being solved. A position pondered for more 
+	 * moves than maxMoves is left alone (the caller is likely trying shorter mates first).
+	 *
+	 * @return a move that mates within maxMoves from this position, null if it wasn't pondered (or has no such mate)
+	 */
+	public Move getSolution(BoardModel board, Side colorToSolveFor, Move previousMove, int maxMoves) {
+		Pondering pondering;
+		synchronized (this) {
+			PositionKey key = new PositionKey(board, colorToSolveFor, previousMove);
+			pondering = ponderings.get(key);
+			if (pondering != null && pondering.maxMoves() > maxMoves) {
+				return null;
+			}
+			stopAllExcept(key);
+		}
+		if (pondering == null) {
+			return null;
+		}
+		
+		try {
+			return pondering.future().join();
+		} catch (CompletionException e) {
+			throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : new IllegalStateException(e.getCause());
+		}
+	}
+	
+	/**
+	 * Stops all background solving (solutions already found are kept).
+	 */
+	public synchronized void stop() {
+		stopAllExcept(null);
+	}
+	
+	@Override
+	public synchronized void close() {
+		stop();
+		executor.shutdownNow();
+	}
+	
+	/**
+	 * stops the unfinished ponderings (but the one for "keep", may be null) and forgets them along with the ones that ended 
+	 * without a mate (e.g. out of time), only solutions are worth keeping
+	 */
+	private void stopAllExcept(PositionKey keep) {
+		ponderings.entrySet().removeIf(entry -> {
+			if (entry.getKey().equals(keep) || entry.getValue().isSolved()) {
+				return false;
+			}
+			entry.getValue().stop();
+			return true;
+		});
+	}
+}
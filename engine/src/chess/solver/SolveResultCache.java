@@ -0,0 +1,212 @@
+package chess.solver;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.ChessPiece;
+import chess.moves.Move;
+
+/**
+ * Persistent cache of solver results keyed by position ({@link chess.moves.Zobrist} key of the board, the side to solve for 
+ * and the en-passant state). 
+ * The file is an append-only log of fixed size records, memory-mapped for both reading and appending. The number of committed 
+ * records is kept in the header and only bumped after a record has been fully written, so a crash mid-append just loses that 
+ * record. The index (key -> record) is kept in memory and is rebuilt by scanning the records when the file is opened.
+ * <p>
+ * File layout: magic (int), version (int), record count (long), followed by the records:
+ * key (long), solved (byte), depth (byte), source (byte), target (byte), promoted piece id (byte), en-passant (byte), 
+ * padding (2 bytes), moves counter (long).
+ */
+public class SolveResultCache implements AutoCloseable {
+	private static final int MAGIC = 0x43535243; //"CSRC"
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 16;
+	private static final int COUNT_OFFSET = 8;
+	private static final int RECORD_SIZE = 24;
+	private static final int INITIAL_CAPACITY = 4096; //records
+	
+	private final FileChannel channel;
+	private MappedByteBuffer buffer;
+	private int capacity;
+	private int count;
+	//a position can have both a proof (mate within N) and a disproof (no mate within M < N), keep the most useful of each
+	private final Map<Long, Integer> proofs = new HashMap<>();
+	private final Map<Long, Integer> disproofs = new HashMap<>();
+	
+	public record Entry(long key, boolean solved, int depth, int source, int target, byte promotedPieceId, boolean enPassant, 
+			long movesCounter) {
+		
+		/**
+		 * @return true if this entry settles a "mate in maxMoves?" query
+		 */
+		public boolean answers(int maxMoves) {
+			return solved ? depth <= maxMoves : depth >= maxMoves;
+		}
+		
+		public Move getBestMove(BoardModel board) {
+			if (!solved) {
+				return null;
+			}
+			
+			Cell sourceCell = Cell.of(source);
+			Cell targetCell = Cell.of(target);
+			ChessPiece piece = board.getPiece(sourceCell);
+			if (enPassant) {
+				return new Move(board, piece, sourceCell, targetCell, true);
+			}
+			return new Move(board, piece, sourceCell, targetCell, promotedPieceId == 0 ? null : ChessPiece.fromId(promotedPieceId));
+		}
+	}
+	
+	private SolveResultCache(FileChannel channel) {
+		this.channel = channel;
+	}
+	
+	/**
+	 * Opens (or creates) the cache file and loads its index.
+	 */
+	public static SolveResultCache open(Path file) throws IOException {
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		SolveResultCache cache = new SolveResultCache(channel);
+		try {
+			cache.load();
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+		return cache;
+	}
+	
+	private void load() throws IOException {
+		boolean newFile = channel.size() == 0;
+		if (!newFile && channel.size() < HEADER_SIZE) {
+			throw new IOException("Not a solve result cache file (truncated header)");
+		}
+		
+		long storedCount = 0;
+		if (!newFile) {
+			MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+			if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+				throw new IOException("Not a solve result cache file (or unsupported version)");
+			}
+			storedCount = header.getLong(COUNT_OFFSET);
+		}
+		
+		//records beyond what's actually in the file can only come from a corrupted header
+		long recordsInFile = Math.max(0, (channel.size() - HEADER_SIZE) / RECORD_SIZE);
+		count = (int) Math.min(storedCount, recordsInFile);
+		mapCapacity(Math.max(INITIAL_CAPACITY, count * 2));
+		
+		if (newFile) {
+			buffer.putInt(0, MAGIC);
+			buffer.putInt(4, VERSION);
+			buffer.putLong(COUNT_OFFSET, 0);
+		}
+		
+		for (int slot = 0; slot < count; slot++) {
+			index(slot, readEntry(slot));
+		}
+	}
+	
+	private void mapCapacity(int newCapacity) throws IOException {
+		buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) newCapacity * RECORD_SIZE);
+		capacity = newCapacity;
+	}
+	
+	/**
+	 * @return an entry that answers the "mate in maxMoves?" query for this position, null if not cached
+	 */
+	public synchronized Entry lookup(long key, int maxMoves) {
+		Integer slot = proofs.get(key);
+		if (slot != null) {
+			Entry entry = readEntry(slot);
+			if (entry.answers(maxMoves)) {
+				return entry;
+			}
+		}
+		
+		slot = disproofs.get(key);
+		if (slot != null) {
+			Entry entry = readEntry(slot);
+			if (entry.answers(maxMoves)) {
+				return entry;
+			}
+		}
+		
+		return null;
+	}
+	
+	public void putSolved(long key, int depth, Move bestMove, long movesCounter) throws IOException {
+		Cell source = bestMove.getSource();
+		Cell target = bestMove.getTarget();
+		byte promotedPieceId = bestMove.isPromotePawn() ? bestMove.getPromotedPiece().getId() : 0;
+		append(new Entry(key, true, depth, source.getIndex(), target.getIndex(), 
+				promotedPieceId, bestMove.isEnPassant(), movesCounter));
+	}
+	
+	public void putUnsolved(long key, int depth, long movesCounter) throws IOException {
+		append(new Entry(key, false, depth, 0, 0, (byte) 0, false, movesCounter));
+	}
+	
+	private synchronized void append(Entry entry) throws IOException {
+		if (entry.depth() < 1 || entry.depth() > Byte.MAX_VALUE) {
+			throw new IllegalArgumentException("Invalid depth " + entry.depth());
+		}
+		
+		if (count == capacity) {
+			mapCapacity(capacity * 2);
+		}
+		
+		int offset = HEADER_SIZE + count * RECORD_SIZE;
+		buffer.putLong(offset, entry.key());
+		buffer.put(offset + 8, (byte) (entry.solved() ? 1 : 0));
+		buffer.put(offset + 9, (byte) entry.depth());
+		buffer.put(offset + 10, (byte) entry.source());
+		buffer.put(offset + 11, (byte) entry.target());
+		buffer.put(offset + 12, entry.promotedPieceId());
+		buffer.put(offset + 13, (byte) (entry.enPassant() ? 1 : 0));
+		buffer.putLong(offset + 16, entry.movesCounter());
+		
+		//commit the record
+		buffer.putLong(COUNT_OFFSET, count + 1);
+		index(count, entry);
+		count++;
+	}
+	
+	private Entry readEntry(int slot) {
+		int offset = HEADER_SIZE + slot * RECORD_SIZE;
+		return new Entry(buffer.getLong(offset), buffer.get(offset + 8) == 1, buffer.get(offset + 9), buffer.get(offset + 10), 
+				buffer.get(offset + 11), buffer.get(offset + 12), buffer.get(offset + 13) == 1, buffer.getLong(offset + 16));
+	}
+	
+	private void index(int slot, Entry entry) {
+		if (entry.solved()) {
+			Integer existing = proofs.get(entry.key());
+			if (existing == null || readEntry(existing).depth() > entry.depth()) { //shorter mate is more useful
+				proofs.put(entry.key(), slot);
+			}
+		} else {
+			Integer existing = disproofs.get(entry.key());
+			if (existing == null || readEntry(existing).depth() < entry.depth()) { //deeper disproof is more useful
+				disproofs.put(entry.key(), slot);
+			}
+		}
+	}
+	
+	public synchronized int size() {
+		return count;
+	}
+	
+	@Override
+	public synchronized void close() throws IOException {
+		buffer.force();
+		channel.close();
+	}
+}
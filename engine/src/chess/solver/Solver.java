@@ -0,0 +1,497 @@
+package chess.solver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import chess.model.BoardModel;
+import chess.model.Side;
+import chess.moves.MateDetector;
+import chess.moves.Move;
+import chess.moves.MovePicker;
+import chess.moves.MovesProcessor;
+import chess.moves.PackedMove;
+import chess.moves.Zobrist;
+import chess.tablebase.Tablebase;
+import chess.tablebase.Tablebases;
+
+public class Solver {
+	private static final MovesSolverComparator MOVES_COMPARATOR = new MovesSolverComparator(); //stateless, safe to share between threads
+	private static final int LAZY_SMP_TT_SIZE_MB = 64;
+	private static final int CHECKPOINT_TT_SIZE_MB = 64;
+	
+	private final BoardModel board;
+	private final Side colorToSolveFor;
+	private final Move previousMove;
+	private Move nextMove;
+	private long startMillis;
+	private long movesCounter;
+	private long recurseCounter;
+	private boolean verbose = true;
+	private boolean timedOut;
+	private boolean threatPruning;
+	private volatile boolean stopped;
+	private int threads = 1;
+	private Comparator<Move> moveOrder = MOVES_COMPARATOR;
+	private SolveResultCache resultCache;
+	private Tablebases tablebases;
+	private TranspositionTable transpositionTable;
+	private Path checkpointFile;
+	private int checkpointIntervalSeconds;
+	private long lastCheckpointMillis;
+	private long checkpointKey;
+	private final Set<Integer> refutedRootMoves = new HashSet<>(); //packed, only kept while checkpointing
+	
+	public Solver(BoardModel board, Side colorToSolveFor, Move previousMove) {
+		super();
+		this.board = board;
+		this.colorToSolveFor = colorToSolveFor;
+		this.previousMove = previousMove;
+	}
+	
+	public boolean tryToSolveIn(int maxNumberOfMoves, int maxSeconds) {
+		startMillis = System.currentTimeMillis(); //start timer
+		timedOut = false;
+		
+		if (!MatingMaterial.isSufficient(board, colorToSolveFor)) {
+			nextMove = null;
+			return false;
+		}
+		
+		if (resultCache == null) {
+			return search(maxNumberOfMoves, maxSeconds);
+		}
+		
+		long key = Zobrist.hash(board, colorToSolveFor, previousMove);
+		SolveResultCache.Entry cached = resultCache.lookup(key, maxNumberOfMoves);
+		if (cached != null) {
+			nextMove = cached.getBestMove(board);
+			return cached.solved();
+		}
+		
+		boolean solved = search(maxNumberOfMoves, maxSeconds);
+		try {
+			if (solved) {
+				resultCache.putSolved(key, maxNumberOfMoves, nextMove, movesCounter);
+			} else if (!timedOut && !threatPruning) { //a timed-out (or pruned) search proves nothing
+				resultCache.putUnsolved(key, maxNumberOfMoves, movesCounter);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return solved;
+	}
+	
+	private boolean search(int maxNumberOfMoves, int maxSeconds) {
+		if (threads > 1) {
+			return searchInParallel(maxNumberOfMoves, maxSeconds);
+		}
+		if (checkpointFile != null) {
+			return searchWithCheckpoints(maxNumberOfMoves, maxSeconds);
+		}
+		
+		return isCMinNmoves(maxNumberOfMoves, maxNumberOfMoves, maxSeconds, board, previousMove);
+	}
+	
+	/**
+	 * Resumes from the checkpoint file if it holds an earlier run of this solve, then searches, saving the progress every 
+	 * checkpointIntervalSeconds and when out of time. A completed search (solved or not) deletes the file.
+	 */
+	private boolean searchWithCheckpoints(int maxNumberOfMoves, int maxSeconds) {
+		if (transpositionTable == null) { //that's where the proofs and disproofs are kept
+			transpositionTable = TranspositionTable.allocate(CHECKPOINT_TT_SIZE_MB);
+		}
+		
+		checkpointKey = Zobrist.hash(board, colorToSolveFor, previousMove);
+		refutedRootMoves.clear();
+		try {
+			SolverCheckpoint checkpoint = SolverCheckpoint.resume(checkpointFile, checkpointKey, maxNumberOfMoves, threatPruning, 
+					transpositionTable);
+			if (checkpoint != null) {
+				refutedRootMoves.addAll(checkpoint.refutedRootMoves());
+				movesCounter += checkpoint.movesCounter();
+				recurseCounter += checkpoint.recurseCounter();
+			}
+			
+			lastCheckpointMillis = System.currentTimeMillis();
+			boolean solved = isCMinNmoves(maxNumberOfMoves, maxNumberOfMoves, maxSeconds, board, previousMove);
+			if (timedOut) {
+				saveCheckpoint(maxNumberOfMoves);
+			} else {
+				Files.deleteIfExists(checkpointFile);
+			}
+			return solved;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private void saveCheckpoint(int maxNumberOfMoves) {
+		try {
+			new SolverCheckpoint(checkpointKey, maxNumberOfMoves, threatPruning, movesCounter, recurseCounter, refutedRootMoves)
+					.write(checkpointFile, transpositionTable);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		lastCheckpointMillis = System.currentTimeMillis();
+	}
+	
+	/**
+	 * Lazy SMP: every thread searches the whole position, each with its own helper solver, at staggered starting depths and
+	 * with its own move order, so they end up in different parts of the tree. There is no other coordination: the helpers 
+	 * share one transposition table, so whatever one of them proves or refutes is picked up by the others. The first helper 
+	 * to reach a definitive answer (a mate, or a full search to maxNumberOfMoves without one) wins and the rest are stopped.
+	 */
+	private boolean searchInParallel(int maxNumberOfMoves, int maxSeconds) {
+		TranspositionTable table = transpositionTable != null ? transpositionTable : TranspositionTable.allocate(LAZY_SMP_TT_SIZE_MB);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CompletionService<Solver> completionService = new ExecutorCompletionService<>(executor);
+		List<Solver> helpers = new ArrayList<>();
+		for (int i = 0; i < threads; i++) {
+			Solver helper = new Solver(board, colorToSolveFor, previousMove);
+			helper.setVerbose(false);
+			helper.setTablebases(tablebases);
+			helper.setTranspositionTable(table);
+			helper.setThreatPruning(threatPruning);
+			helper.moveOrder = i == 0 ? MOVES_COMPARATOR : getVariedMoveOrder(i);
+			helpers.add(helper);
+			
+			int startDepth = 1 + (i % maxNumberOfMoves);
+			completionService.submit(() -> {
+				helper.deepen(startDepth, maxNumberOfMoves, maxSeconds);
+				return helper;
+			});
+		}
+		
+		try {
+			for (int i = 0; i < threads; i++) {
+				Solver helper = completionService.take().get();
+				if (helper.nextMove != null || !helper.timedOut) {
+					this.nextMove = helper.nextMove;
+					return helper.nextMove != null;
+				}
+			}
+			
+			timedOut = true; //every helper ran out of time
+			return false;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			timedOut = true;
+			return false;
+		} catch (ExecutionException e) {
+			throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : new IllegalStateException(e.getCause());
+		} finally {
+			for (Solver helper : helpers) {
+				helper.stop();
+			}
+			executor.shutdownNow();
+			try {
+				//stopped helpers unwind quickly, wait for them so none still writes to the table (or counts moves) after this returns
+				executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			for (Solver helper : helpers) {
+				movesCounter += helper.movesCounter;
+				recurseCounter += helper.recurseCounter;
+			}
+		}
+	}
+	
+	/**
+	 * Iterative deepening from startDepth, stopping at the first mate (nextMove is set) or when out of time.
+	 */
+	private void deepen(int startDepth, int maxNumberOfMoves, int maxSeconds) {
+		startMillis = System.currentTimeMillis();
+		for (int depth = startDepth; depth <= maxNumberOfMoves && !timedOut; depth++) {
+			if (isCMinNmoves(depth, depth, maxSeconds, board, previousMove)) {
+				return;
+			}
+		}
+	}
+	
+	/**
+	 * @return the same piece priorities, but with ties broken in a different (fixed) order for each helper thread
+	 */
+	private static Comparator<Move> getVariedMoveOrder(int seed) {
+		return MOVES_COMPARATOR.thenComparingInt(move -> {
+			int h = (move.getSource().getIndex() * 64 + move.getTarget().getIndex()) * 0x9E3779B9 ^ seed * 0x85EBCA6B;
+			return h * 0xC2B2AE35;
+		});
+	}
+	
+	/**
+	 * Applies a brute-force recursive algorithm (for every possible move, try every possible counter-move, recurse until
+	 * solution (mate) is found OR max-number of moves are reached).
+	 *
+	 */
+	private boolean isCMinNmoves(int initialMaxNumberOfMoves, int remainingNumberOfMoves, int maxSeconds, BoardModel workingBoard, Move prevMove) {
+		recurseCounter++;
+		
+		//a capture by the defender can take away the attacker's mating material (checked at the root before the search, the 
+		//attacker's own captures are checked before their replies are searched)
+		if (prevMove != null && prevMove.isCapturePiece() && !MatingMaterial.isSufficient(workingBoard, colorToSolveFor)) {
+			return false;
+		}
+		
+		//endgames covered by a tablebase are answered exactly, at any depth
+		if (tablebases != null) {
+			int movesToMate = tablebases.probe(workingBoard, colorToSolveFor, true);
+			if (movesToMate != Tablebases.NOT_FOUND) {
+				boolean solved = movesToMate != Tablebase.NO_MATE && movesToMate <= remainingNumberOfMoves;
+				if (solved && remainingNumberOfMoves == initialMaxNumberOfMoves) { //check if at the top-most level
+					this.nextMove = getTablebaseMove(workingBoard, prevMove, movesToMate);
+				}
+				return solved;
+			}
+		}
+		
+		//positions already proven/disproven (by this or by any other solver sharing the table)
+		long key = 0;
+		Move hashMove = null;
+		if (transpositionTable != null) {
+			key = Zobrist.hash(workingBoard, colorToSolveFor, prevMove);
+			long entry = transpositionTable.probe(key);
+			if (entry != 0 && !MateEntry.answers(entry, remainingNumberOfMoves)) {
+				hashMove = MateEntry.move(entry, workingBoard); //mates in more moves than we have left, but still the best move to try first
+			}
+			if (entry != 0 && MateEntry.answers(entry, remainingNumberOfMoves)) {
+				if (!MateEntry.isProven(entry) || remainingNumberOfMoves != initialMaxNumberOfMoves) {
+					return MateEntry.isProven(entry);
+				}
+				
+				//at the top-most level the entry is only useful with a (valid) move
+				Move move = MateEntry.move(entry, workingBoard);
+				if (move != null && MovesProcessor.isValidMove(workingBoard, move, prevMove)) {
+					this.nextMove = move;
+					return true;
+				}
+			}
+		}
+		
+		//moves are generated lazily, hash move first, then checks, safe captures, quiet moves and losing captures (strongest pieces first 
+		//within each stage); losing captures are only tried late, never pruned, as a mate often starts with a sacrifice
+		MovePicker picker = new MovePicker(workingBoard, colorToSolveFor, prevMove, hashMove, moveOrder);
+		Side opponentColor = colorToSolveFor.opponent();
+		
+		//terminating condition 1: if check-mate on next move (only a checking move can mate, so captures and quiet moves aren't generated here)
+		for (Move move = picker.next(); move != null; move = picker.next()) {
+			movesCounter++;
+			if (picker.givesCheck() && MateDetector.isCheckMate(picker.getBoardAfterMove(), opponentColor, move)) {
+				if (remainingNumberOfMoves == initialMaxNumberOfMoves) { //check if at the top-most level
+					this.nextMove = move;
+				}
+				storeInTranspositionTable(key, MateEntry.proven(1, move));
+				return true; 
+			}
+			if (picker.getStage().compareTo(MovePicker.Stage.CHECKS) > 0) {
+				break;
+			}
+		}
+		
+		//terminating condition 2: if remainingNumberOfMoves is already at 1 (and we couldn't solve it in the previous terminating condition)
+		if (remainingNumberOfMoves == 1) {
+			storeInTranspositionTable(key, MateEntry.disproven(1));
+			return false;
+		}
+		
+		//terminating condition 3: if time elapsed
+		if (maxTimeExceeded(maxSeconds, initialMaxNumberOfMoves)) {
+			return false;
+		}
+		
+		//for each move, filter out stale-mates, then for each of the opposing color's responding moves check for opponent wins (i.e. we're 
+		//left with no moves) and (barring that) recurse...
+		picker.rewind();
+		boolean atRoot = remainingNumberOfMoves == initialMaxNumberOfMoves;
+		for (Move move = picker.next(); move != null; move = picker.next()) {
+			if (atRoot && !refutedRootMoves.isEmpty() && refutedRootMoves.contains(PackedMove.pack(move))) {
+				continue; //refuted before the checkpoint this search resumed from
+			}
+			
+			BoardModel tempBoard = picker.getBoardAfterMove();
+			if (move.isCapturePiece() && !MatingMaterial.isSufficient(tempBoard, colorToSolveFor)) {
+				continue; //e.g. N x P leaving K+N vs K, nothing can mate from there (not even this move, checked above)
+			}
+			
+			MovePicker opponentPicker = new MovePicker(tempBoard, opponentColor, move, null, null);
+			Move opponentMove = opponentPicker.next();
+			if (opponentMove == null) { //stale-mate (check-mates were found above)
+				continue;
+			}
+			
+			//optional threat pruning: a quiet move is only expanded if it threatens mate, i.e. if the defender were allowed to pass 
+			//we'd mate in one move less (checks are always expanded, the defender can't pass while in check)
+			if (threatPruning && !picker.givesCheck()
+					&& !isCMinNmoves(initialMaxNumberOfMoves, remainingNumberOfMoves - 1, maxSeconds, tempBoard, null)) {
+				continue;
+			}
+			
+			boolean refuted = false;
+			for (; opponentMove != null; opponentMove = opponentPicker.next()) {
+				movesCounter++;
+				if (!isCMinNmoves(initialMaxNumberOfMoves, remainingNumberOfMoves - 1, maxSeconds, opponentPicker.getBoardAfterMove(), opponentMove)) {
+					refuted = true;
+					break;
+				}
+			}
+			if (refuted) {
+				if (atRoot && checkpointFile != null && !timedOut) { //a timed-out search refutes nothing
+					refutedRootMoves.add(PackedMove.pack(move));
+				}
+				continue;
+			}
+			
+			//at this point we found a good move (where all subsequent opponent moves have solutions in <= remainingNumberOfMoves)
+			if (remainingNumberOfMoves == initialMaxNumberOfMoves) { //check if at the top-most level
+				this.nextMove = move;
+			}
+			storeInTranspositionTable(key, MateEntry.proven(remainingNumberOfMoves, move));
+			return true; //terminating condition 4
+		}
+		
+		//exhausted all possible moves without a solution...
+		if (!timedOut && !threatPruning) { //otherwise some of the moves weren't fully explored (or were pruned, here or further down)
+			storeInTranspositionTable(key, MateEntry.disproven(remainingNumberOfMoves));
+		}
+		return false; //terminating condition 5
+	}
+	
+	private void storeInTranspositionTable(long key, long data) {
+		if (transpositionTable != null) {
+			transpositionTable.store(key, data);
+		}
+	}
+	
+	/**
+	 * @return the move that keeps the tablebase's distance-to-mate (i.e. reaches a position that is lost in movesToMate - 1)
+	 */
+	private Move getTablebaseMove(BoardModel workingBoard, Move prevMove, int movesToMate) {
+		for (Move move : MovesProcessor.getAllMoves(workingBoard, colorToSolveFor, prevMove, true).getAllMoves()) {
+			if (tablebases.probe(MovesProcessor.applyMove(workingBoard, move), colorToSolveFor, false) == movesToMate - 1) {
+				return move;
+			}
+		}
+		throw new IllegalStateException("Tablebase is inconsistent, no move reaches mate in " + (movesToMate - 1));
+	}
+	
+	private boolean maxTimeExceeded(int maxSeconds, int maxMoves) {
+		if (verbose) {
+			printCounters(maxMoves);
+		}
+		if (stopped || System.currentTimeMillis() - (maxSeconds * 1000L) > startMillis) {
+			timedOut = true;
+		}
+		if (checkpointFile != null && !timedOut 
+				&& System.currentTimeMillis() - lastCheckpointMillis >= checkpointIntervalSeconds * 1000L) {
+			saveCheckpoint(maxMoves);
+		}
+		return timedOut;
+	}
+	
+	public void printCounters(int maxMoves) {
+		double seconds = (System.currentTimeMillis() - startMillis) / 1000d;
+		System.out.printf("max # moves: %s, elapsed seconds: %s, recursion count: %s, moves count: %s%n", maxMoves, seconds, recurseCounter, movesCounter);
+	}
+	
+	public Move getNextMoveIfSolved() {
+		return nextMove;
+	}
+	
+	public long getMovesCounter() {
+		return movesCounter;
+	}
+	
+	/**
+	 * @return true if the last {@link #tryToSolveIn(int, int)} ran out of time (i.e. a failure to solve proves nothing)
+	 */
+	public boolean isTimedOut() {
+		return timedOut;
+	}
+	
+	/**
+	 * Asks a search running in another thread to give up: it returns unsolved, as if it had timed out. A stopped solver stays 
+	 * stopped.
+	 */
+	public void stop() {
+		stopped = true;
+	}
+	
+	/**
+	 * @param threads when more than 1, each search runs on that many threads (Lazy SMP, see searchInParallel) sharing the
+	 * 		transposition table (a private one is allocated per search if none was set)
+	 */
+	public void setThreads(int threads) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("threads must be positive");
+		}
+		this.threads = threads;
+	}
+	
+	/**
+	 * @param resultCache consulted before (and updated after) each {@link #tryToSolveIn(int, int)}, may be null
+	 */
+	public void setResultCache(SolveResultCache resultCache) {
+		this.resultCache = resultCache;
+	}
+	
+	/**
+	 * @param tablebases probed at every node whose material they cover, may be null
+	 */
+	public void setTablebases(Tablebases tablebases) {
+		this.tablebases = tablebases;
+	}
+	
+	/**
+	 * @param transpositionTable proven and disproven positions are stored in (and looked up from) this table, which may be
+	 * 		shared with other solvers (threads or processes), may be null
+	 */
+	public void setTranspositionTable(TranspositionTable transpositionTable) {
+		this.transpositionTable = transpositionTable;
+	}
+	
+	/**
+	 * @param file where a single-threaded search saves its progress, every intervalSeconds and when it runs out of time; a 
+	 * 		later solve of the same position and number of moves (e.g. after a restart) resumes from it instead of starting 
+	 * 		over. The file is deleted once the search completes. A private transposition table is allocated if none was set, 
+	 * 		since that's where the progress is. null (the default) for no checkpoints.
+	 */
+	public void setCheckpoint(Path file, int intervalSeconds) {
+		if (intervalSeconds < 1) {
+			throw new IllegalArgumentException("intervalSeconds must be positive");
+		}
+		this.checkpointFile = file;
+		this.checkpointIntervalSeconds = intervalSeconds;
+	}
+	
+	/**
+	 * @param threatPruning when true, quiet (non-checking) moves that don't threaten mate in one move less are discarded 
+	 * 		without trying any of the defender's replies. This cuts the search by a large factor but is only sound if the 
+	 * 		defender always does at least as well by moving as by passing, which doesn't hold in zugzwang problems (e.g. a 
+	 * 		waiting-move key): those are reported unsolved. Disproofs found with pruning on are not stored in the 
+	 * 		transposition table or result cache, so they can't mislead solvers that search without it. Off by default.
+	 */
+	public void setThreatPruning(boolean threatPruning) {
+		this.threatPruning = threatPruning;
+	}
+	
+	/**
+	 * @param verbose when false the counters aren't printed during the search (batch runs would otherwise serialize all
+	 * 		worker threads on System.out)
+	 */
+	public void setVerbose(boolean verbose) {
+		this.verbose = verbose;
+	}
+}
@@ -0,0 +1,90 @@
+package chess.solver;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The progress of a long solve, saved so that a later run (e.g. after a restart) can resume it: the root moves already 
+ * refuted, the counters, and the transposition table's entries (every position proven or disproven so far).
+ * <p>
+ * The file is written next to its final location and renamed over it, so it's always either the previous checkpoint or the
+ * new one, never a partly written one.
+ * <p>
+ * File layout: magic (long), root key (long), max moves (int), threat pruning (boolean), moves counter (long), recursion 
+ * counter (long), number of refuted root moves (int) followed by the moves ({@link chess.moves.PackedMove}, int each), then 
+ * key/data pairs (2 longs each) up to a pair with data 0.
+ *
+ * @param rootKey Zobrist key of the solved position
+ * @param refutedRootMoves packed moves
+ */
+record SolverCheckpoint(long rootKey, int maxMoves, boolean threatPruning, long movesCounter, long recurseCounter, 
+		Set<Integer> refutedRootMoves) {
+	
+	private static final long MAGIC = 0x4348455353434B31L; //"CHESSCK1"
+	
+	void write(Path file, TranspositionTable transpositionTable) throws IOException {
+		Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+			out.writeLong(MAGIC);
+			out.writeLong(rootKey);
+			out.writeInt(maxMoves);
+			out.writeBoolean(threatPruning);
+			out.writeLong(movesCounter);
+			out.writeLong(recurseCounter);
+			out.writeInt(refutedRootMoves.size());
+			for (int move : refutedRootMoves) {
+				out.writeInt(move);
+			}
+			transpositionTable.forEachEntry((key, data) -> {
+				out.writeLong(key);
+				out.writeLong(data);
+			});
+			out.writeLong(0);
+			out.writeLong(0);
+		}
+		Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+	
+	/**
+	 * Reads the checkpoint if it's one of the same solve (position, number of moves and threat pruning), loading its entries
+	 * into the transposition table.
+	 *
+	 * @return null if there's no such checkpoint
+	 */
+	static SolverCheckpoint resume(Path file, long rootKey, int maxMoves, boolean threatPruning, 
+			TranspositionTable transpositionTable) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readLong() != MAGIC) {
+				throw new IOException("Not a solver checkpoint file " + file);
+			}
+			if (in.readLong() != rootKey || in.readInt() != maxMoves || in.readBoolean() != threatPruning) {
+				return null; //another solve's, it'll be overwritten
+			}
+			
+			long movesCounter = in.readLong();
+			long recurseCounter = in.readLong();
+			Set<Integer> refutedRootMoves = new HashSet<>();
+			for (int i = in.readInt(); i > 0; i--) {
+				refutedRootMoves.add(in.readInt());
+			}
+			for (long key = in.readLong(), data = in.readLong(); data != 0; key = in.readLong(), data = in.readLong()) {
+				transpositionTable.store(key, data);
+			}
+			return new SolverCheckpoint(rootKey, maxMoves, threatPruning, movesCounter, recurseCounter, refutedRootMoves);
+		} catch (NoSuchFileException e) {
+			return null;
+		} catch (EOFException e) {
+			throw new IOException("Truncated solver checkpoint file " + file, e);
+		}
+	}
+}
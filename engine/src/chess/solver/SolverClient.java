@@ -0,0 +1,52 @@
+package chess.solver;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+
+/**
+ * Thin client of a {@link SolverDaemon}: sends the lines read from stdin (a puzzle list, or a command such as "shutdown")
+ * and prints the answers, e.g. {@code SolverClient < puzzles.txt}. Board files are resolved relative to the client's working
+ * directory.
+ */
+public class SolverClient {
+	
+	public static void main(String[] args) throws IOException, InterruptedException {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : SolverDaemon.DEFAULT_PORT;
+		try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+			 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+			 PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+			
+			//sends on its own thread, so a long list never waits for the answers to be read (or the other way around)
+			Thread sender = new Thread(() -> {
+				try (BufferedReader stdin = new BufferedReader(new InputStreamReader(System.in))) {
+					out.println("cd " + Paths.get("").toAbsolutePath());
+					String line;
+					while ((line = stdin.readLine()) != null) {
+						out.println(line);
+					}
+					socket.shutdownOutput();
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}, "solver-client-sender");
+			sender.setDaemon(true);
+			sender.start();
+			
+			String line;
+			while ((line = in.readLine()) != null) {
+				System.out.println(line);
+			}
+		} catch (ConnectException e) {
+			System.err.println("no solver daemon on port " + port);
+			System.exit(2);
+		}
+	}
+}
@@ -0,0 +1,221 @@
+package chess.solver;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A long-lived solver process, so that scripts running many short solves pay for JVM startup and JIT warm-up once, rather 
+ * than per solve, and share warmed-up caches (transposition table, tablebases, result cache).
+ * <p>
+ * The daemon listens on a loopback port. A client sends lines in the format of {@link BatchSolver}'s puzzle lists and reads
+ * one result line per puzzle, in the format BatchSolver prints, in the order the puzzles were sent (see {@link SolverClient}).
+ * The puzzles of all connections are solved by one BatchSolver, so they share its workers and its bounded queue. Other
+ * commands:
+ * <pre>
+ * 	cd &lt;directory&gt;   board files named by the connection's next puzzles are relative to it (by default: to the 
+ * 	                  daemon's working directory)
+ * 	ping             answers "pong"
+ * 	shutdown         answers "bye", and stops the daemon once the puzzles already sent are answered (puzzles sent 
+ * 	                 later, on any connection, are answered as failed)
+ * </pre>
+ * Empty lines and '#' comments are ignored, as in puzzle lists.
+ */
+public class SolverDaemon implements AutoCloseable {
+	public static final int DEFAULT_PORT = 28282;
+	
+	private static final CompletableFuture<String> END_OF_INPUT = new CompletableFuture<>();
+	
+	private final ServerSocket serverSocket;
+	private final BatchSolver batchSolver;
+	private final ExecutorService connections;
+	private final Map<String, CompletableFuture<BatchResult>> pendingPuzzles = new ConcurrentHashMap<>(); //by internal id
+	private final AtomicLong puzzleCounter = new AtomicLong();
+	private final Set<Socket> openSockets = ConcurrentHashMap.newKeySet();
+	private volatile boolean shuttingDown;
+	
+	/**
+	 * @param port 0 for any free port (see {@link #getPort()})
+	 * @param threads number of puzzles solved at the same time
+	 */
+	public SolverDaemon(int port, int threads) throws IOException {
+		super();
+		this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+		this.batchSolver = new BatchSolver(threads, threads * 4, result -> {
+			CompletableFuture<BatchResult> pending = pendingPuzzles.remove(result.id());
+			if (pending != null) {
+				pending.complete(result);
+			}
+		});
+		this.connections = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "solver-daemon-connection");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	
+	/**
+	 * @return the solver to configure (tablebases, transposition table, ...) before calling {@link #serve()}
+	 */
+	public BatchSolver getBatchSolver() {
+		return batchSolver;
+	}
+	
+	public int getPort() {
+		return serverSocket.getLocalPort();
+	}
+	
+	/**
+	 * Accepts connections until {@link #close()} (or a "shutdown" command).
+	 */
+	public void serve() throws IOException {
+		try {
+			while (true) {
+				Socket socket = serverSocket.accept();
+				connections.execute(() -> handle(socket));
+			}
+		} catch (SocketException e) {
+			if (!serverSocket.isClosed()) {
+				throw e;
+			}
+		}
+	}
+	
+	@Override
+	public void close() throws IOException {
+		shuttingDown = true;
+		serverSocket.close();
+		batchSolver.close();
+		connections.shutdown(); //lets the connections write the answers of the last puzzles
+		try {
+			if (connections.awaitTermination(1, TimeUnit.SECONDS)) {
+				return;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		
+		//clients still connected get an end of stream rather than waiting forever
+		for (Socket socket : openSockets) {
+			socket.close();
+		}
+		connections.shutdownNow();
+	}
+	
+	/**
+	 * reads the connection's requests while a second thread writes the answers, in order, as they are ready (so a client that
+	 * sends a long list before reading never blocks the daemon, and vice versa)
+	 */
+	private void handle(Socket socket) {
+		BlockingQueue<CompletableFuture<String>> answers = new LinkedBlockingQueue<>();
+		openSockets.add(socket);
+		try (socket;
+			 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+			 PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+			
+			Future<?> writer = connections.submit(() -> writeAnswers(answers, out));
+			Path baseDir = Paths.get("").toAbsolutePath();
+			String line;
+			while ((line = in.readLine()) != null) {
+				line = line.trim();
+				if (line.isEmpty() || line.startsWith("#")) {
+					continue;
+				}
+				
+				if (line.startsWith("cd ")) {
+					baseDir = baseDir.resolve(line.substring(3).trim());
+				} else if (line.equals("ping")) {
+					answers.add(CompletableFuture.completedFuture("pong"));
+				} else if (line.equals("shutdown")) {
+					shuttingDown = true;
+					answers.add(CompletableFuture.completedFuture("bye"));
+					serverSocket.close();
+					break;
+				} else {
+					answers.add(submit(line, baseDir));
+				}
+			}
+			
+			answers.add(END_OF_INPUT);
+			writer.get();
+		} catch (IOException | ExecutionException e) {
+			//the client went away, nothing to answer
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			openSockets.remove(socket);
+		}
+	}
+	
+	private CompletableFuture<String> submit(String line, Path baseDir) throws InterruptedException {
+		BatchPuzzle puzzle;
+		try {
+			puzzle = BatchSolver.parsePuzzle(line, baseDir);
+		} catch (IOException | RuntimeException e) {
+			return CompletableFuture.completedFuture(BatchResult.failed(line, e).toString());
+		}
+		if (shuttingDown) {
+			return CompletableFuture.completedFuture(rejected(puzzle, null));
+		}
+		
+		//the puzzle's id (its board file) needn't be unique, so it goes to the solver under an internal one
+		String id = "#" + puzzleCounter.incrementAndGet();
+		CompletableFuture<BatchResult> result = new CompletableFuture<>();
+		pendingPuzzles.put(id, result);
+		try {
+			batchSolver.submit(new BatchPuzzle(id, puzzle.board(), puzzle.colorToSolveFor(), puzzle.maxMoves(), puzzle.maxSeconds()));
+		} catch (RuntimeException e) { //the solver was closed since the check above
+			pendingPuzzles.remove(id);
+			return CompletableFuture.completedFuture(rejected(puzzle, e));
+		}
+		return result.thenApply(solved -> new BatchResult(puzzle.id(), solved.solved(), solved.mateIn(), solved.move(), 
+				solved.movesCounter(), solved.millis(), solved.error()).toString());
+	}
+	
+	private static String rejected(BatchPuzzle puzzle, Throwable cause) {
+		return BatchResult.failed(puzzle.id(), new IllegalStateException("The solver daemon is shutting down", cause)).toString();
+	}
+	
+	private static Void writeAnswers(BlockingQueue<CompletableFuture<String>> answers, PrintWriter out) throws InterruptedException {
+		for (CompletableFuture<String> answer = answers.take(); answer != END_OF_INPUT; answer = answers.take()) {
+			out.println(answer.join());
+		}
+		return null;
+	}
+	
+	/**
+	 * Starts a daemon, configured like {@link BatchSolver#main(String[])} (same system properties).
+	 */
+	public static void main(String[] args) throws IOException {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+		int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		try (SolveResultCache resultCache = args.length > 2 ? SolveResultCache.open(Paths.get(args[2])) : null;
+			 SolverDaemon daemon = new SolverDaemon(port, threads)) {
+			
+			daemon.getBatchSolver().setResultCache(resultCache);
+			BatchSolver.configure(daemon.getBatchSolver());
+			System.err.printf("solver daemon listening on port %s with %s thread(s)%n", daemon.getPort(), threads);
+			daemon.serve();
+		}
+	}
+}
@@ -0,0 +1,168 @@
+package chess.solver;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import chess.model.BoardModel;
+import chess.model.Side;
+import chess.moves.Move;
+import chess.moves.MovesProcessor;
+import chess.moves.Zobrist;
+import chess.tablebase.Tablebases;
+
+/**
+ * Solves the successive positions of one game for one side, e.g. while replaying a mating line: the moves of both sides are
+ * applied to the session (re-rooting it) and each solve starts from what the previous ones learned.
+ * <p>
+ * All solves share the session's transposition table, where a successful search has stored a proof for every position of
+ * its mating line. After each solve the next level of that proof (the answer to each of the defender's replies to the key)
+ * is also pinned in the session, so it survives replacement in a busy (or shared) table: a follow-up solve in a known line
+ * is a lookup.
+ */
+public class SolverSession {
+	private static final int DEFAULT_TT_SIZE_MB = 64;
+	
+	private final Side colorToSolveFor;
+	private BoardModel board;
+	private Move previousMove;
+	private Move nextMove;
+	private Solver lastSolver;
+	private final Map<Long, Long> pinnedProofs = new HashMap<>(); //Zobrist key -> proven MateEntry
+	private boolean verbose = true;
+	private int threads = 1;
+	private SolveResultCache resultCache;
+	private Tablebases tablebases;
+	private TranspositionTable transpositionTable;
+	
+	public SolverSession(BoardModel board, Side colorToSolveFor, Move previousMove) {
+		super();
+		this.board = board;
+		this.colorToSolveFor = colorToSolveFor;
+		this.previousMove = previousMove;
+	}
+	
+	/**
+	 * @throws IllegalStateException if it's not colorToSolveFor's turn
+	 */
+	public boolean tryToSolveIn(int maxNumberOfMoves, int maxSeconds) {
+		if (previousMove != null && previousMove.getPiece().getSide() == colorToSolveFor) {
+			throw new IllegalStateException("Not " + colorToSolveFor + "'s turn to move");
+		}
+		
+		long key = Zobrist.hash(board, colorToSolveFor, previousMove);
+		Long pinned = pinnedProofs.get(key);
+		if (pinned != null && MateEntry.answers(pinned, maxNumberOfMoves)) {
+			Move move = MateEntry.move(pinned, board);
+			if (move != null && MovesProcessor.isValidMove(board, move, previousMove)) {
+				lastSolver = null;
+				nextMove = move;
+				pinNextLevel(maxNumberOfMoves);
+				return true;
+			}
+		}
+		
+		if (transpositionTable == null) {
+			transpositionTable = TranspositionTable.allocate(DEFAULT_TT_SIZE_MB);
+		}
+		lastSolver = new Solver(board, colorToSolveFor, previousMove);
+		lastSolver.setVerbose(verbose);
+		lastSolver.setThreads(threads);
+		lastSolver.setResultCache(resultCache);
+		lastSolver.setTablebases(tablebases);
+		lastSolver.setTranspositionTable(transpositionTable);
+		boolean solved = lastSolver.tryToSolveIn(maxNumberOfMoves, maxSeconds);
+		nextMove = lastSolver.getNextMoveIfSolved();
+		if (solved) {
+			pinNextLevel(maxNumberOfMoves);
+		}
+		return solved;
+	}
+	
+	/**
+	 * Re-roots the session: "move" (by either side) is played from the current position.
+	 */
+	public void applyMove(Move move) {
+		board = MovesProcessor.applyMove(board, move);
+		previousMove = move;
+		nextMove = null;
+	}
+	
+	public Move getNextMoveIfSolved() {
+		return nextMove;
+	}
+	
+	/**
+	 * @return the moves counted by the last solve, 0 if it was answered from a pinned proof
+	 */
+	public long getMovesCounter() {
+		return lastSolver == null ? 0 : lastSolver.getMovesCounter();
+	}
+	
+	public BoardModel getBoard() {
+		return board;
+	}
+	
+	public Move getPreviousMove() {
+		return previousMove;
+	}
+	
+	public Side getColorToSolveFor() {
+		return colorToSolveFor;
+	}
+	
+	public void printCounters(int maxMoves) {
+		if (lastSolver == null) {
+			System.out.printf("max # moves: %s, answered from the proof of a previous solve%n", maxMoves);
+		} else {
+			lastSolver.printCounters(maxMoves);
+		}
+	}
+	
+	/**
+	 * pins the proofs (found in the transposition table) of the positions after each of the defender's replies to nextMove,
+	 * forgetting the ones of earlier positions
+	 */
+	private void pinNextLevel(int maxNumberOfMoves) {
+		pinnedProofs.clear();
+		if (maxNumberOfMoves < 2 || transpositionTable == null) {
+			return;
+		}
+		
+		BoardModel boardAfterMove = MovesProcessor.applyMove(board, nextMove);
+		Side defender = colorToSolveFor.opponent();
+		for (Move reply : MovesProcessor.getAllMoves(boardAfterMove, defender, nextMove, true).getAllMoves()) {
+			long key = Zobrist.hash(MovesProcessor.applyMove(boardAfterMove, reply), colorToSolveFor, reply);
+			long entry = transpositionTable.probe(key);
+			if (entry != 0 && MateEntry.isProven(entry)) {
+				pinnedProofs.put(key, entry);
+			}
+		}
+	}
+	
+	public void setThreads(int threads) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("threads must be positive");
+		}
+		this.threads = threads;
+	}
+	
+	public void setResultCache(SolveResultCache resultCache) {
+		this.resultCache = resultCache;
+	}
+	
+	public void setTablebases(Tablebases tablebases) {
+		this.tablebases = tablebases;
+	}
+	
+	/**
+	 * @param transpositionTable used by every solve of the session, may be shared with other solvers (a private one is
+	 * 		allocated on the first solve if none was set)
+	 */
+	public void setTranspositionTable(TranspositionTable transpositionTable) {
+		this.transpositionTable = transpositionTable;
+	}
+	
+	public void setVerbose(boolean verbose) {
+		this.verbose = verbose;
+	}
+}
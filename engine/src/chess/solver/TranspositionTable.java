@@ -0,0 +1,179 @@
+package chess.solver;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Fixed size hash table of search results that lives outside the Java heap: either in a direct buffer (private to this 
+ * process) or in a memory-mapped file, in which case every JVM that maps the same file shares the same entries.
+ * <p>
+ * The table is organized in buckets of 4 entries (64 bytes, i.e. one cache line). An entry is 2 longs: "key ^ data" and 
+ * "data". Updates are lock-free: writers simply overwrite both words and readers only accept an entry whose words XOR back 
+ * to the probed key, so an entry torn by a concurrent writer (in any thread or process) reads as a miss rather than as 
+ * wrong data. Concurrent writers to the same slot may lose one of the updates, which is fine for a cache.
+ * <p>
+ * The meaning of the data is up to the caller, with two conventions: 0 means "empty" (so data must never be 0), and the 
+ * lowest 8 bits hold the search depth, which decides what gets replaced when a bucket is full (the shallowest entry).
+ */
+public class TranspositionTable {
+	private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+	private static final long MAGIC = 0x4348455353545431L; //"CHESSTT1"
+	private static final int HEADER_SIZE = 64;
+	private static final int ENTRY_SIZE = 16;
+	private static final int ENTRIES_PER_BUCKET = 4;
+	private static final int BUCKET_SIZE = ENTRY_SIZE * ENTRIES_PER_BUCKET;
+	private static final int MAX_BUCKETS = 1 << 24; //1 GB, the most a single buffer can address (in whole buckets)
+	
+	private final ByteBuffer buffer;
+	private final int bucketMask;
+	private final int dataOffset;
+	
+	private TranspositionTable(ByteBuffer buffer, int dataOffset, int buckets) {
+		this.buffer = buffer;
+		this.dataOffset = dataOffset;
+		this.bucketMask = buckets - 1;
+	}
+	
+	/**
+	 * @return a table private to this process
+	 */
+	public static TranspositionTable allocate(int sizeMb) {
+		int buckets = bucketsFor(sizeMb);
+		return new TranspositionTable(ByteBuffer.allocateDirect(buckets * BUCKET_SIZE), 0, buckets);
+	}
+	
+	/**
+	 * Maps (creating it if needed) a table file that can be shared by several processes. If the file already exists its 
+	 * size wins over "sizeMb".
+	 */
+	public static TranspositionTable open(Path file, int sizeMb) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			FileLock lock = channel.lock(); //only held while a new file's header is written
+			try {
+				return map(file, channel, sizeMb);
+			} finally {
+				lock.release();
+			}
+		}
+	}
+	
+	private static TranspositionTable map(Path file, FileChannel channel, int sizeMb) throws IOException {
+		int buckets;
+		ByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+		if (channel.size() == HEADER_SIZE && header.getLong(0) == 0) { //brand new file
+			buckets = bucketsFor(sizeMb);
+			header.putLong(8, buckets);
+			header.putLong(0, MAGIC);
+		} else if (header.getLong(0) == MAGIC) {
+			buckets = (int) header.getLong(8);
+		} else {
+			throw new IOException("Not a transposition table file " + file);
+		}
+		
+		//the mapping stays valid after the channel is closed
+		ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) buckets * BUCKET_SIZE);
+		return new TranspositionTable(buffer, HEADER_SIZE, buckets);
+	}
+	
+	private static int bucketsFor(int sizeMb) {
+		if (sizeMb < 1) {
+			throw new IllegalArgumentException("Size must be at least 1 MB");
+		}
+		return (int) Math.min(MAX_BUCKETS, Long.highestOneBit(sizeMb * 1024L * 1024L / BUCKET_SIZE));
+	}
+	
+	/**
+	 * @return the data stored for the key, 0 if not found
+	 */
+	public long probe(long key) {
+		int bucket = bucketOffset(key);
+		for (int i = 0; i < ENTRIES_PER_BUCKET; i++) {
+			int offset = bucket + i * ENTRY_SIZE;
+			long check = (long) LONGS.getAcquire(buffer, offset);
+			long data = (long) LONGS.getAcquire(buffer, offset + 8);
+			if (data != 0 && (check ^ data) == key) {
+				return data;
+			}
+		}
+		return 0;
+	}
+	
+	/**
+	 * Stores the data, replacing (in order of preference) the key's current entry, an empty entry or the bucket's shallowest 
+	 * entry.
+	 */
+	public void store(long key, long data) {
+		if (data == 0) {
+			throw new IllegalArgumentException("Data mustn't be 0");
+		}
+		
+		int bucket = bucketOffset(key);
+		int replaceOffset = -1;
+		int replaceDepth = Integer.MAX_VALUE;
+		for (int i = 0; i < ENTRIES_PER_BUCKET; i++) {
+			int offset = bucket + i * ENTRY_SIZE;
+			long check = (long) LONGS.getAcquire(buffer, offset);
+			long existing = (long) LONGS.getAcquire(buffer, offset + 8);
+			if (existing == 0 || (check ^ existing) == key) {
+				replaceOffset = offset;
+				break;
+			}
+			if (depthOf(existing) < replaceDepth) {
+				replaceDepth = depthOf(existing);
+				replaceOffset = offset;
+			}
+		}
+		
+		//data first, then the check word - a reader racing with us sees a mismatch (a miss) until both are written
+		LONGS.setRelease(buffer, replaceOffset + 8, data);
+		LONGS.setRelease(buffer, replaceOffset, key ^ data);
+	}
+	
+	/**
+	 * Empties the table (for every process sharing it).
+	 */
+	public void clear() {
+		for (int offset = dataOffset; offset < buffer.capacity(); offset += 8) {
+			LONGS.setRelease(buffer, offset, 0L);
+		}
+	}
+	
+	/**
+	 * Visits every non-empty entry, e.g. to save the table. An entry that another thread (or process) is writing at the same 
+	 * time may be visited torn, i.e. with a key that nobody probes for.
+	 */
+	public void forEachEntry(EntryVisitor visitor) throws IOException {
+		for (int offset = dataOffset; offset < buffer.capacity(); offset += ENTRY_SIZE) {
+			long check = (long) LONGS.getAcquire(buffer, offset);
+			long data = (long) LONGS.getAcquire(buffer, offset + 8);
+			if (data != 0) {
+				visitor.visit(check ^ data, data);
+			}
+		}
+	}
+	
+	@FunctionalInterface
+	public interface EntryVisitor {
+		void visit(long key, long data) throws IOException;
+	}
+	
+	public int getNumberOfEntries() {
+		return (bucketMask + 1) * ENTRIES_PER_BUCKET;
+	}
+	
+	public static int depthOf(long data) {
+		return (int) (data & 0xFF);
+	}
+	
+	private int bucketOffset(long key) {
+		//low bits of the key pick the bucket, the whole key is verified on probe
+		return dataOffset + (int) (key & bucketMask) * BUCKET_SIZE;
+	}
+}
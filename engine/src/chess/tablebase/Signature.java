@@ -0,0 +1,196 @@
+package chess.tablebase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.ChessPiece;
+import chess.model.PieceType;
+import chess.model.Side;
+
+/**
+ * The material of a tablebase: the attacking side (the side trying to mate), its pieces and the defender's pieces. Pawns 
+ * aren't supported. The name is the attacker's color followed by the attacker's and defender's pieces, kings first, 
+ * e.g. "W_KQvK" (white king and queen vs black king) or "B_KRvKN".
+ */
+public class Signature {
+	public static final int MAX_PIECES = 4;
+	private static final String PIECE_LETTERS = "KQRBN";
+	private static final PieceType[] PIECE_TYPES = 
+			{PieceType.KING, PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT};
+	private static final Comparator<PieceType> CANONICAL_ORDER = Comparator.comparingInt(Signature::letterIndex);
+	
+	private final Side attacker;
+	private final List<PieceType> attackerPieces;
+	private final List<PieceType> defenderPieces;
+	private final List<ChessPiece> pieces = new ArrayList<>(); //attacker's then defender's, in index order
+	private final String name;
+	
+	public Signature(Side attacker, List<PieceType> attackerPieces, List<PieceType> defenderPieces) {
+		super();
+		if (attacker != Side.WHITE && attacker != Side.BLACK) {
+			throw new IllegalArgumentException("Side must be Black or White");
+		}
+		
+		this.attacker = attacker;
+		this.attackerPieces = sorted(attackerPieces);
+		this.defenderPieces = sorted(defenderPieces);
+		if (Collections.frequency(this.attackerPieces, PieceType.KING) != 1 
+				|| Collections.frequency(this.defenderPieces, PieceType.KING) != 1) {
+			throw new IllegalArgumentException("Each side must have exactly one king");
+		}
+		if (this.attackerPieces.size() + this.defenderPieces.size() > MAX_PIECES) {
+			throw new IllegalArgumentException("Tablebases support up to " + MAX_PIECES + " pieces");
+		}
+		
+		Side defender = attacker == Side.WHITE ? Side.BLACK : Side.WHITE;
+		StringBuilder sb = new StringBuilder(attacker == Side.WHITE ? "W_" : "B_");
+		for (PieceType pieceType : this.attackerPieces) {
+			pieces.add(toPiece(pieceType, attacker));
+			sb.append(PIECE_LETTERS.charAt(letterIndex(pieceType)));
+		}
+		sb.append('v');
+		for (PieceType pieceType : this.defenderPieces) {
+			pieces.add(toPiece(pieceType, defender));
+			sb.append(PIECE_LETTERS.charAt(letterIndex(pieceType)));
+		}
+		this.name = sb.toString();
+	}
+	
+	/**
+	 * @param name e.g. "W_KQvK"
+	 */
+	public static Signature parse(String name) {
+		String[] sides = name.length() > 2 ? name.substring(2).split("v", -1) : new String[0];
+		if (sides.length != 2 || !(name.startsWith("W_") || name.startsWith("B_"))) {
+			throw new IllegalArgumentException("Invalid signature " + name);
+		}
+		
+		return new Signature(name.startsWith("W_") ? Side.WHITE : Side.BLACK, parsePieces(sides[0]), parsePieces(sides[1]));
+	}
+	
+	/**
+	 * @return the signature of the material on the board, null if it isn't tablebase material (pawns, too many pieces or
+	 * 		not exactly one king per side)
+	 */
+	public static Signature of(BoardModel board, Side attacker) {
+		List<PieceType> attackerPieces = new ArrayList<>();
+		List<PieceType> defenderPieces = new ArrayList<>();
+		long occupied = board.getOccupiedSquares(Side.WHITE) | board.getOccupiedSquares(Side.BLACK);
+		if (Long.bitCount(occupied) > MAX_PIECES) {
+			return null;
+		}
+		
+		for (; occupied != 0; occupied &= occupied - 1) {
+			ChessPiece piece = board.getPiece(Cell.of(Long.numberOfTrailingZeros(occupied)));
+			if (piece.getPieceType() == PieceType.PAWN) {
+				return null;
+			}
+			(piece.getSide() == attacker ? attackerPieces : defenderPieces).add(piece.getPieceType());
+		}
+		
+		if (Collections.frequency(attackerPieces, PieceType.KING) != 1 || Collections.frequency(defenderPieces, PieceType.KING) != 1) {
+			return null;
+		}
+		return new Signature(attacker, attackerPieces, defenderPieces);
+	}
+	
+	/**
+	 * @return the signature after the piece at "pieceIndex" was captured
+	 */
+	public Signature without(int pieceIndex) {
+		List<PieceType> newAttackerPieces = new ArrayList<>(attackerPieces);
+		List<PieceType> newDefenderPieces = new ArrayList<>(defenderPieces);
+		if (pieceIndex < attackerPieces.size()) {
+			newAttackerPieces.remove(pieceIndex);
+		} else {
+			newDefenderPieces.remove(pieceIndex - attackerPieces.size());
+		}
+		return new Signature(attacker, newAttackerPieces, newDefenderPieces);
+	}
+	
+	/**
+	 * @return false if the attacker has a bare king (no table needed, it can never mate)
+	 */
+	public boolean hasMatingMaterial() {
+		return attackerPieces.size() > 1;
+	}
+	
+	public Side getAttacker() {
+		return attacker;
+	}
+	
+	/**
+	 * @return the pieces in index order (attacker's king, attacker's other pieces, defender's king, defender's other pieces)
+	 */
+	public List<ChessPiece> getPieces() {
+		return pieces;
+	}
+	
+	public String getName() {
+		return name;
+	}
+	
+	private static List<PieceType> parsePieces(String letters) {
+		List<PieceType> pieceTypes = new ArrayList<>();
+		for (char letter : letters.toCharArray()) {
+			int i = PIECE_LETTERS.indexOf(letter);
+			if (i < 0) {
+				throw new IllegalArgumentException("Invalid piece " + letter);
+			}
+			pieceTypes.add(PIECE_TYPES[i]);
+		}
+		return pieceTypes;
+	}
+	
+	private static List<PieceType> sorted(List<PieceType> pieceTypes) {
+		List<PieceType> sorted = new ArrayList<>(pieceTypes);
+		sorted.sort(CANONICAL_ORDER);
+		return Collections.unmodifiableList(sorted);
+	}
+	
+	private static int letterIndex(PieceType pieceType) {
+		for (int i = 0; i < PIECE_TYPES.length; i++) {
+			if (PIECE_TYPES[i] == pieceType) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException("Unsupported piece type " + pieceType);
+	}
+	
+	private static ChessPiece toPiece(PieceType pieceType, Side color) {
+		boolean white = color == Side.WHITE;
+		return switch (pieceType) {
+			case KING -> white ? ChessPiece.WHITE_KING : ChessPiece.BLACK_KING;
+			case QUEEN -> white ? ChessPiece.WHITE_QUEEN : ChessPiece.BLACK_QUEEN;
+			case ROOK -> white ? ChessPiece.WHITE_ROOK : ChessPiece.BLACK_ROOK;
+			case BISHOP -> white ? ChessPiece.WHITE_BISHOP : ChessPiece.BLACK_BISHOP;
+			case KNIGHT -> white ? ChessPiece.WHITE_KNIGHT : ChessPiece.BLACK_KNIGHT;
+			default -> throw new IllegalArgumentException("Unsupported piece type " + pieceType);
+		};
+	}
+	
+	@Override
+	public int hashCode() {
+		return name.hashCode();
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		return name.equals(((Signature) obj).name);
+	}
+	
+	@Override
+	public String toString() {
+		return name;
+	}
+}
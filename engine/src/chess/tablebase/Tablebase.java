@@ -0,0 +1,163 @@
+package chess.tablebase;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.ChessPiece;
+import chess.model.Side;
+
+/**
+ * Distance-to-mate table for one {@link Signature}. Every placement of the signature's pieces has a slot for each side to 
+ * move, addressed by a perfect index: (sideToMove * 64 + square of piece 0) * 64 + square of piece 1 ... (squares are 
+ * row * 8 + col, pieces in signature order, attacker to move = 0). Illegal placements are simply never probed.
+ * <p>
+ * Each slot holds one byte: 0 if the attacker can't force mate, otherwise the number of attacker moves left until mate, 
+ * plus 1 (so a defender-to-move position that is already checkmate holds 1, an attacker-to-move mate-in-1 holds 2).
+ * <p>
+ * File layout: magic (int), version (int), signature name (8 bytes, ASCII, zero padded), values.
+ */
+public class Tablebase {
+	public static final int NO_MATE = -1;
+	public static final String FILE_EXTENSION = ".tb";
+	
+	private static final int MAGIC = 0x43544231; //"CTB1"
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 16;
+	
+	private final Signature signature;
+	private final ByteBuffer values;
+	
+	Tablebase(Signature signature, ByteBuffer values) {
+		super();
+		if (values.capacity() != size(signature)) {
+			throw new IllegalArgumentException(String.format("Expected %s values for %s but got %s", 
+					size(signature), signature, values.capacity()));
+		}
+		this.signature = signature;
+		this.values = values;
+	}
+	
+	/**
+	 * Maps the table file into memory (read-only, the table isn't copied onto the heap).
+	 */
+	public static Tablebase load(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() < HEADER_SIZE) {
+				throw new IOException("Not a tablebase file " + file);
+			}
+			
+			ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+			if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+				throw new IOException("Not a tablebase file (or unsupported version) " + file);
+			}
+			byte[] nameBytes = new byte[8];
+			header.get(8, nameBytes);
+			Signature signature = Signature.parse(new String(nameBytes, StandardCharsets.US_ASCII).trim());
+			
+			//the mapping stays valid after the channel is closed
+			return new Tablebase(signature, channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, channel.size() - HEADER_SIZE));
+		}
+	}
+	
+	/**
+	 * Writes the table to a temp file first and then renames it, so readers never see a partially written table.
+	 */
+	public void save(Path file) throws IOException {
+		Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, 
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			header.putInt(MAGIC).putInt(VERSION);
+			byte[] nameBytes = signature.getName().getBytes(StandardCharsets.US_ASCII);
+			header.put(nameBytes, 0, Math.min(nameBytes.length, 8));
+			header.position(HEADER_SIZE).flip();
+			while (header.hasRemaining()) {
+				channel.write(header);
+			}
+			
+			ByteBuffer data = values.duplicate();
+			data.clear();
+			while (data.hasRemaining()) {
+				channel.write(data);
+			}
+		}
+		Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+	
+	public static String fileName(Signature signature) {
+		return signature.getName() + FILE_EXTENSION;
+	}
+	
+	/**
+	 * @return the number of attacker moves until mate with best play by both sides, {@link #NO_MATE} if the attacker can't 
+	 * 		force mate. The board must contain exactly this table's material.
+	 */
+	public int probe(BoardModel board, boolean attackerToMove) {
+		int index = index(board, attackerToMove);
+		if (index < 0) {
+			throw new IllegalArgumentException("Board material doesn't match " + signature);
+		}
+		return probe(index);
+	}
+	
+	int probe(int index) {
+		return (values.get(index) & 0xFF) - 1;
+	}
+	
+	public Signature getSignature() {
+		return signature;
+	}
+	
+	static int size(Signature signature) {
+		return 2 << (6 * signature.getPieces().size());
+	}
+	
+	static int index(int[] squares, boolean attackerToMove) {
+		int index = attackerToMove ? 0 : 1;
+		for (int square : squares) {
+			index = (index << 6) | square;
+		}
+		return index;
+	}
+	
+	/**
+	 * @return the board's index in this table, -1 if the board has other material
+	 */
+	int index(BoardModel board, boolean attackerToMove) {
+		List<ChessPiece> pieces = signature.getPieces();
+		int[] squares = new int[pieces.size()];
+		boolean[] assigned = new boolean[pieces.size()];
+		long occupied = board.getOccupiedSquares(Side.WHITE) | board.getOccupiedSquares(Side.BLACK);
+		if (Long.bitCount(occupied) != pieces.size()) {
+			return -1;
+		}
+		
+		for (; occupied != 0; occupied &= occupied - 1) {
+			int square = Long.numberOfTrailingZeros(occupied);
+			ChessPiece piece = board.getPiece(Cell.of(square));
+			int slot = -1;
+			for (int i = 0; i < pieces.size(); i++) {
+				if (!assigned[i] && pieces.get(i) == piece) {
+					slot = i;
+					break;
+				}
+			}
+			if (slot < 0) {
+				return -1;
+			}
+			assigned[slot] = true;
+			squares[slot] = square;
+		}
+		
+		return index(squares, attackerToMove);
+	}
+}
@@ -0,0 +1,254 @@
+package chess.tablebase;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.BitSet;
+import java.util.List;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.ChessPiece;
+import chess.model.PieceType;
+import chess.model.Side;
+import chess.moves.Move;
+import chess.moves.MovesProcessor;
+
+/**
+ * Builds distance-to-mate tables by retrograde analysis: starting from the checkmates, each pass extends the known results 
+ * one move further back (an attacker-to-move position is a mate in N if some move reaches a defender-to-move position that 
+ * is lost in N-1, a defender-to-move position is lost in N once all of its moves reach positions lost in at most N).
+ * Positions are expanded with {@link MovesProcessor} so the tables follow exactly the same rules as the {@code Solver}. 
+ * Captures lead into the smaller tables, which are generated (or loaded) first.
+ * <p>
+ * 3-piece tables take seconds, 4-piece tables are a one-off offline job (minutes to hours, depending on the material).
+ */
+public class TablebaseGenerator {
+	private final Path directory;
+	private final Tablebases tablebases = new Tablebases();
+	
+	public TablebaseGenerator(Path directory) {
+		super();
+		this.directory = directory;
+	}
+	
+	/**
+	 * @return the table for the signature, loaded from the directory if it was already generated
+	 */
+	public Tablebase generate(Signature signature) throws IOException {
+		Tablebase tablebase = tablebases.get(signature);
+		if (tablebase != null) {
+			return tablebase;
+		}
+		
+		Path file = directory.resolve(Tablebase.fileName(signature));
+		if (Files.exists(file)) {
+			tablebase = Tablebase.load(file);
+			tablebases.add(tablebase);
+			return tablebase;
+		}
+		
+		//captures lead into the smaller tables, so those are needed first
+		for (int i = 0; i < signature.getPieces().size(); i++) {
+			Signature subSignature = signature.getPieces().get(i).getPieceType() == PieceType.KING 
+					? null : signature.without(i);
+			if (subSignature != null && subSignature.hasMatingMaterial()) {
+				generate(subSignature);
+			}
+		}
+		
+		long startMillis = System.currentTimeMillis();
+		Tablebase generated = new Tablebase(signature, ByteBuffer.wrap(new Builder(signature).build()));
+		generated.save(file);
+		System.out.printf("generated %s in %s seconds%n", signature, (System.currentTimeMillis() - startMillis) / 1000d);
+		
+		tablebase = Tablebase.load(file);
+		tablebases.add(tablebase);
+		return tablebase;
+	}
+	
+	private class Builder {
+		private final Signature signature;
+		private final List<ChessPiece> pieces;
+		private final Side attacker;
+		private final Side defender;
+		private final int positions;
+		private final byte[] values;
+		private final BoardModel board = new BoardModel();
+		private final int[] squares;
+		private int maxCaptureValue; //longest mate reachable through a capture (i.e. from a smaller table)
+		
+		Builder(Signature signature) {
+			this.signature = signature;
+			this.pieces = signature.getPieces();
+			this.attacker = signature.getAttacker();
+			this.defender = attacker.opponent();
+			this.positions = Tablebase.size(signature) / 2;
+			this.values = new byte[Tablebase.size(signature)];
+			this.squares = new int[pieces.size()];
+		}
+		
+		byte[] build() {
+			BitSet pendingAttackerToMove = new BitSet(positions);
+			BitSet pendingDefenderToMove = new BitSet(positions);
+			
+			//pass 0: mark legal positions as pending, checkmates are lost in 0
+			for (int position = 0; position < positions; position++) {
+				if (!setUp(position)) {
+					continue;
+				}
+				
+				if (!MovesProcessor.isCheckOnColor(board, defender, null)) {
+					pendingAttackerToMove.set(position);
+				}
+				if (!MovesProcessor.isCheckOnColor(board, attacker, null)) {
+					if (MovesProcessor.isCheckMateOnColor(board, defender, null)) {
+						values[Tablebase.index(squares, false)] = 1;
+					} else if (!MovesProcessor.isStaleMateOnColor(board, defender, null)) {
+						pendingDefenderToMove.set(position);
+					}
+				}
+				clear();
+			}
+			
+			for (int movesToMate = 1; movesToMate < Byte.MAX_VALUE; movesToMate++) {
+				boolean changed = false;
+				
+				//attacker to move: mate in N if any move reaches a position lost in N-1
+				for (int position = pendingAttackerToMove.nextSetBit(0); position >= 0; 
+						position = pendingAttackerToMove.nextSetBit(position + 1)) {
+					setUp(position);
+					for (Move move : MovesProcessor.getAllMoves(board, attacker, null, true).getAllMoves()) {
+						if (successorValue(move, false) == movesToMate) {
+							values[Tablebase.index(squares, true)] = (byte) (movesToMate + 1);
+							pendingAttackerToMove.clear(position);
+							changed = true;
+							break;
+						}
+					}
+					clear();
+				}
+				
+				//defender to move: lost in N once every move reaches a (already known) mate, and the longest of them is a mate in N
+				//(a capture can reach a longer mate of a smaller table, then the position waits for that pass)
+				for (int position = pendingDefenderToMove.nextSetBit(0); position >= 0; 
+						position = pendingDefenderToMove.nextSetBit(position + 1)) {
+					setUp(position);
+					int longestMate = 0;
+					for (Move move : MovesProcessor.getAllMoves(board, defender, null, true).getAllMoves()) {
+						int value = successorValue(move, true);
+						if (value == 0) {
+							longestMate = 0;
+							break;
+						}
+						longestMate = Math.max(longestMate, value);
+					}
+					if (longestMate == movesToMate + 1) {
+						values[Tablebase.index(squares, false)] = (byte) (movesToMate + 1);
+						pendingDefenderToMove.clear(position);
+						changed = true;
+					}
+					clear();
+				}
+				
+				//smaller tables can still feed in longer mates after a quiet pass
+				if (!changed && movesToMate > maxCaptureValue) {
+					break;
+				}
+			}
+			
+			return values;
+		}
+		
+		/**
+		 * Places the pieces for the given position (squares in signature order).
+		 * @return false if two pieces share a square
+		 */
+		private boolean setUp(int position) {
+			long occupied = 0;
+			for (int i = pieces.size() - 1; i >= 0; i--) {
+				squares[i] = position & 63;
+				position >>>= 6;
+				if ((occupied & (1L << squares[i])) != 0) {
+					return false;
+				}
+				occupied |= 1L << squares[i];
+			}
+			
+			for (int i = 0; i < pieces.size(); i++) {
+				board.placePiece((byte) (squares[i] / 8), (byte) (squares[i] % 8), pieces.get(i));
+			}
+			return true;
+		}
+		
+		private void clear() {
+			for (int square : squares) {
+				board.removePiece((byte) (square / 8), (byte) (square % 8), false);
+			}
+		}
+		
+		/**
+		 * @return the stored value (0 = no mate / not known yet) of the position reached by "move" from the current position
+		 */
+		private int successorValue(Move move, boolean attackerToMove) {
+			int[] next = squares.clone();
+			next[slotOf(move.getSource())] = move.getTarget().getIndex();
+			if (move.isCastling()) { //the rook moves too
+				int row = move.getSource().getRow();
+				boolean kingside = move.getTarget().getCol() == 6;
+				next[slotOf(Cell.of(row, kingside ? 7 : 0))] = row * 8 + (kingside ? 5 : 3);
+			}
+			
+			if (!move.isCapturePiece()) {
+				return values[Tablebase.index(next, attackerToMove)];
+			}
+			
+			int capturedSlot = slotOf(move.getTarget());
+			Signature subSignature = signature.without(capturedSlot);
+			Tablebase subTable = tablebases.get(subSignature);
+			if (subTable == null) { //no mating material left
+				return 0;
+			}
+			
+			int[] subSquares = new int[next.length - 1];
+			for (int i = 0, j = 0; i < next.length; i++) {
+				if (i != capturedSlot) {
+					subSquares[j++] = next[i];
+				}
+			}
+			int value = subTable.probe(Tablebase.index(subSquares, attackerToMove)) + 1;
+			maxCaptureValue = Math.max(maxCaptureValue, value);
+			return value;
+		}
+		
+		private int slotOf(Cell cell) {
+			int square = cell.getIndex();
+			for (int i = 0; i < squares.length; i++) {
+				if (squares[i] == square) {
+					return i;
+				}
+			}
+			throw new IllegalStateException("No piece on " + cell);
+		}
+		
+	}
+	
+	/**
+	 * Generates the tables for the given signatures (plus the smaller tables they depend on) into the directory.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.err.println("usage: TablebaseGenerator <directory> <signature>... (e.g. W_KQvK B_KRvK W_KQvKR)");
+			System.exit(1);
+		}
+		
+		Path directory = Paths.get(args[0]);
+		Files.createDirectories(directory);
+		TablebaseGenerator generator = new TablebaseGenerator(directory);
+		for (int i = 1; i < args.length; i++) {
+			generator.generate(Signature.parse(args[i]));
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package chess.tablebase;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import chess.model.BoardModel;
+import chess.model.Side;
+
+/**
+ * The set of tablebases available to the solver.
+ */
+public class Tablebases {
+	public static final int NOT_FOUND = -2;
+	
+	private final Map<Signature, Tablebase> tables = new HashMap<>();
+	
+	/**
+	 * Maps every tablebase file in the directory.
+	 */
+	public static Tablebases load(Path directory) throws IOException {
+		Tablebases tablebases = new Tablebases();
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + Tablebase.FILE_EXTENSION)) {
+			for (Path file : files) {
+				tablebases.add(Tablebase.load(file));
+			}
+		}
+		return tablebases;
+	}
+	
+	public void add(Tablebase tablebase) {
+		tables.put(tablebase.getSignature(), tablebase);
+	}
+	
+	public Tablebase get(Signature signature) {
+		return tables.get(signature);
+	}
+	
+	/**
+	 * @return the number of moves "attacker" needs to force mate, {@link Tablebase#NO_MATE} if it can't, or {@link #NOT_FOUND} 
+	 * 		if there's no table for the board's material
+	 */
+	public int probe(BoardModel board, Side attacker, boolean attackerToMove) {
+		if (tables.isEmpty()) {
+			return NOT_FOUND;
+		}
+		
+		Signature signature = Signature.of(board, attacker);
+		Tablebase tablebase = signature == null ? null : tables.get(signature);
+		return tablebase == null ? NOT_FOUND : tablebase.probe(board, attackerToMove);
+	}
+	
+	public int size() {
+		return tables.size();
+	}
+}
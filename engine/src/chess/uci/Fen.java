@@ -0,0 +1,89 @@
+package chess.uci;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.ChessPiece;
+import chess.model.Side;
+import chess.moves.Move;
+
+/**
+ * Forsyth-Edwards Notation. Only the fields the move rules use are read: the pieces, the side to move and the en-passant
+ * square. Castling rights, as everywhere else in this code, follow from the king and rook being on their starting squares.
+ */
+public final class Fen {
+	public static final String STARTING_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+	
+	private Fen() {}
+	
+	/**
+	 * @throws IllegalArgumentException if the FEN is malformed
+	 */
+	public static Position parse(String fen) {
+		String[] fields = fen.trim().split("\\s+");
+		String[] rows = fields[0].split("/");
+		if (rows.length != 8) {
+			throw new IllegalArgumentException("Expected 8 rows in " + fen);
+		}
+		
+		BoardModel board = new BoardModel();
+		for (int row = 0; row < 8; row++) {
+			int col = 0;
+			for (char c : rows[row].toCharArray()) {
+				if (Character.isDigit(c)) {
+					col += c - '0';
+				} else if (col < 8) {
+					board.placePiece(Cell.of(row, col++), toPiece(c));
+				} else {
+					col++;
+				}
+			}
+			if (col != 8) {
+				throw new IllegalArgumentException("Expected 8 squares in row " + rows[row] + " of " + fen);
+			}
+		}
+		
+		Side sideToMove = fields.length < 2 || "w".equals(fields[1]) ? Side.WHITE : Side.BLACK;
+		Move previousMove = null;
+		if (fields.length > 3 && !"-".equals(fields[3])) {
+			previousMove = getDoublePawnAdvance(board, sideToMove.opponent(), Position.parseCell(fields[3]));
+		}
+		return new Position(board, sideToMove, previousMove);
+	}
+	
+	private static ChessPiece toPiece(char c) {
+		ChessPiece piece = switch (Character.toLowerCase(c)) {
+			case 'p' -> ChessPiece.BLACK_PAWN;
+			case 'n' -> ChessPiece.BLACK_KNIGHT;
+			case 'b' -> ChessPiece.BLACK_BISHOP;
+			case 'r' -> ChessPiece.BLACK_ROOK;
+			case 'q' -> ChessPiece.BLACK_QUEEN;
+			case 'k' -> ChessPiece.BLACK_KING;
+			default -> throw new IllegalArgumentException("Invalid piece " + c);
+		};
+		return Character.isUpperCase(c) ? ChessPiece.fromId((byte) (piece.getId() - 10)) : piece;
+	}
+	
+	/**
+	 * @return the 2-square pawn advance that passed over "skipped" (the FEN's en-passant square), null if there's no such pawn
+	 */
+	private static Move getDoublePawnAdvance(BoardModel board, Side mover, Cell skipped) {
+		int direction = mover == Side.WHITE ? -1 : 1;
+		ChessPiece pawn = mover == Side.WHITE ? ChessPiece.WHITE_PAWN : ChessPiece.BLACK_PAWN;
+		int targetRow = skipped.getRow() + direction;
+		int sourceRow = skipped.getRow() - direction;
+		if (targetRow < 0 || targetRow > 7 || sourceRow < 0 || sourceRow > 7) {
+			return null;
+		}
+		Cell target = Cell.of(targetRow, skipped.getCol());
+		Cell source = Cell.of(sourceRow, skipped.getCol());
+		if (board.getPiece(target) != pawn || board.isCellOccupied(source)) {
+			return null;
+		}
+		
+		//the move is described on the board before it was played
+		BoardModel boardBefore = board.getClone();
+		boardBefore.removePiece(target, true);
+		boardBefore.placePiece(source, pawn);
+		return new Move(boardBefore, pawn, source, target);
+	}
+}
@@ -0,0 +1,80 @@
+package chess.uci;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.ChessPiece;
+import chess.model.Side;
+import chess.moves.Move;
+import chess.moves.MovesProcessor;
+import chess.moves.Zobrist;
+
+/**
+ * A position as the searches take it: the board, the side to move and the move that led to it (which decides whether an 
+ * en-passant capture is possible).
+ *
+ * @param previousMove may be null
+ */
+public record Position(BoardModel board, Side sideToMove, Move previousMove) {
+	
+	/**
+	 * @param uciMove long algebraic notation, e.g. "e2e4", "e1g1" (castling) or "a7a8q" (promotion)
+	 * @return the position after the move
+	 * @throws IllegalArgumentException if it's not a legal move of the side to move
+	 */
+	public Position play(String uciMove) {
+		Move move = parseMove(uciMove);
+		return new Position(MovesProcessor.applyMove(board, move), sideToMove.opponent(), move);
+	}
+	
+	/**
+	 * @throws IllegalArgumentException if it's not a legal move of the side to move
+	 */
+	public Move parseMove(String uciMove) {
+		if (!uciMove.matches("[a-h][1-8][a-h][1-8][qrbn]?")) {
+			throw new IllegalArgumentException("Invalid move " + uciMove);
+		}
+		
+		Cell source = parseCell(uciMove.substring(0, 2));
+		Cell target = parseCell(uciMove.substring(2, 4));
+		ChessPiece piece = board.getPiece(source);
+		if (piece.getSide() == sideToMove) {
+			for (Move move : MovesProcessor.getMovesForPiece(board, source, piece, previousMove, true)) {
+				if (move.getTarget() == target && uciMove.substring(4).equals(promotionSuffix(move))) {
+					return move;
+				}
+			}
+		}
+		throw new IllegalArgumentException("Illegal move " + uciMove);
+	}
+	
+	public long key() {
+		return Zobrist.hash(board, sideToMove, previousMove);
+	}
+	
+	/**
+	 * @return the move in long algebraic notation, e.g. "e2e4"
+	 */
+	public static String formatMove(Move move) {
+		return formatCell(move.getSource()) + formatCell(move.getTarget()) + promotionSuffix(move);
+	}
+	
+	static Cell parseCell(String square) {
+		return Cell.of('8' - square.charAt(1), square.charAt(0) - 'a');
+	}
+	
+	private static String formatCell(Cell cell) {
+		return cell.getLabel().toLowerCase();
+	}
+	
+	private static String promotionSuffix(Move move) {
+		if (!move.isPromotePawn()) {
+			return "";
+		}
+		return switch (move.getPromotedPiece().getPieceType()) {
+			case QUEEN -> "q";
+			case ROOK -> "r";
+			case BISHOP -> "b";
+			default -> "n";
+		};
+	}
+}
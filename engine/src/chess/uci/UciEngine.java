@@ -0,0 +1,345 @@
+package chess.uci;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import chess.engine.Engine;
+import chess.engine.SearchResult;
+import chess.moves.Move;
+import chess.solver.Solver;
+import chess.solver.TranspositionTable;
+
+/**
+ * UCI (Universal Chess Interface) front-end, so the engine and the solver can be driven by chess GUIs, tournament managers
+ * or scripts. Supported commands:
+ * <pre>
+ * 	uci, isready, ucinewgame, stop, quit
+ * 	position [startpos | fen &lt;fen&gt;] [moves &lt;move&gt; ...]
+ * 	go [depth N] [movetime MS] [wtime MS btime MS winc MS binc MS movestogo N] [infinite]
+ * 	go mate N    (a forced mate search by the {@link Solver}, the shortest mate within N moves)
+ * </pre>
+ * Commands are read on a dedicated input thread, while searches run on the thread that called {@link #run()}: "stop" and
+ * "isready" are answered in the middle of a search, and a slow reader never holds up the search's output ("info" lines
+ * after each completed depth, then "bestmove").
+ */
+public class UciEngine {
+	private static final String NAME = "ChessChallenge";
+	private static final int DEFAULT_MOVES_TO_GO = 30;
+	private static final int TIME_MARGIN_MILLIS = 50; //for the GUI to receive the move
+	private static final int SOLVER_TT_SIZE_MB = 64;
+	private static final int NO_TIME_LIMIT_SECONDS = Integer.MAX_VALUE / 1000;
+	private static final Runnable QUIT = () -> {};
+	
+	private final BufferedReader in;
+	private final PrintStream out;
+	private final Engine engine = new Engine();
+	private final BlockingDeque<Runnable> tasks = new LinkedBlockingDeque<>(); //run one at a time, by the search thread
+	private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "uci-timer");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private TranspositionTable solverTranspositionTable;
+	private Position position = Fen.parse(Fen.STARTING_POSITION);
+	private List<Long> gameHistory = new ArrayList<>(); //keys of the positions before the current one
+	private volatile SearchControl currentSearch;
+	
+	/**
+	 * the state of one "go", shared by the input thread (which may stop it) and the search thread
+	 */
+	private class SearchControl {
+		private final boolean infinite;
+		private final CountDownLatch stopSignal = new CountDownLatch(1);
+		private volatile boolean stopped;
+		private volatile Solver solver;
+		
+		SearchControl(boolean infinite) {
+			super();
+			this.infinite = infinite;
+		}
+		
+		void stop() {
+			stopped = true;
+			engine.stop();
+			Solver runningSolver = solver;
+			if (runningSolver != null) {
+				runningSolver.stop();
+			}
+			stopSignal.countDown();
+		}
+		
+		/**
+		 * "go infinite" only answers after "stop", even if the search is over
+		 */
+		void awaitStopIfInfinite() throws InterruptedException {
+			if (infinite) {
+				stopSignal.await();
+			}
+		}
+	}
+	
+	public UciEngine(Reader in, PrintStream out) {
+		super();
+		this.in = new BufferedReader(in);
+		this.out = out;
+	}
+	
+	/**
+	 * Runs the commands until "quit" or the end of the input (searches already started are finished first, unless infinite).
+	 */
+	public void run() throws InterruptedException {
+		Thread input = new Thread(this::readCommands, "uci-input");
+		input.setDaemon(true);
+		input.start();
+		for (Runnable task = tasks.take(); task != QUIT; task = tasks.take()) {
+			task.run();
+		}
+	}
+	
+	private void readCommands() {
+		try {
+			String line;
+			while ((line = in.readLine()) != null) {
+				if (!execute(line.trim())) {
+					return;
+				}
+			}
+			
+			SearchControl search = currentSearch;
+			if (search != null && search.infinite) {
+				search.stop();
+			}
+			tasks.add(QUIT);
+		} catch (IOException e) {
+			tasks.addFirst(QUIT);
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * @return false once the input should no longer be read
+	 */
+	private boolean execute(String line) {
+		String[] tokens = line.split("\\s+");
+		try {
+			switch (tokens[0]) {
+				case "uci" -> {
+					send("id name " + NAME);
+					send("id author " + NAME + " contributors");
+					send("uciok");
+				}
+				case "isready" -> send("readyok");
+				case "ucinewgame" -> tasks.add(engine::clear);
+				case "position" -> setPosition(tokens);
+				case "go" -> go(tokens);
+				case "stop" -> stopSearch();
+				case "quit" -> {
+					stopSearch();
+					tasks.addFirst(QUIT);
+					return false;
+				}
+				default -> {} //unknown commands (and empty lines) are ignored, as the protocol asks
+			}
+		} catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+			send("info string error in \"" + line + "\": " + e.getMessage());
+		}
+		return true;
+	}
+	
+	private void setPosition(String[] tokens) {
+		int movesIndex = indexOf(tokens, "moves");
+		Position newPosition;
+		if ("startpos".equals(tokens[1])) {
+			newPosition = Fen.parse(Fen.STARTING_POSITION);
+		} else if ("fen".equals(tokens[1])) {
+			newPosition = Fen.parse(String.join(" ", List.of(tokens).subList(2, movesIndex < 0 ? tokens.length : movesIndex)));
+		} else {
+			throw new IllegalArgumentException("Expected startpos or fen");
+		}
+		
+		List<Long> newHistory = new ArrayList<>();
+		for (int i = movesIndex + 1; movesIndex > 0 && i < tokens.length; i++) {
+			newHistory.add(newPosition.key());
+			newPosition = newPosition.play(tokens[i]);
+		}
+		position = newPosition;
+		gameHistory = newHistory;
+	}
+	
+	private void go(String[] tokens) {
+		int depth = Engine.MAX_DEPTH;
+		int mateMoves = 0;
+		long moveTime = 0;
+		long[] clock = {-1, -1}; //white's, black's time left
+		long[] increment = {0, 0};
+		int movesToGo = DEFAULT_MOVES_TO_GO;
+		boolean infinite = false;
+		for (int i = 1; i < tokens.length; i++) {
+			switch (tokens[i]) {
+				case "depth" -> depth = Integer.parseInt(tokens[++i]);
+				case "mate" -> mateMoves = Integer.parseInt(tokens[++i]);
+				case "movetime" -> moveTime = Long.parseLong(tokens[++i]);
+				case "wtime" -> clock[0] = Long.parseLong(tokens[++i]);
+				case "btime" -> clock[1] = Long.parseLong(tokens[++i]);
+				case "winc" -> increment[0] = Long.parseLong(tokens[++i]);
+				case "binc" -> increment[1] = Long.parseLong(tokens[++i]);
+				case "movestogo" -> movesToGo = Math.max(1, Integer.parseInt(tokens[++i]));
+				case "infinite" -> infinite = true;
+				default -> {}
+			}
+		}
+		
+		int side = position.sideToMove().ordinal();
+		if (moveTime == 0 && !infinite && clock[side] >= 0) {
+			long budget = clock[side] / movesToGo + increment[side] / 2;
+			moveTime = Math.max(1, Math.min(budget, clock[side] / 2) - TIME_MARGIN_MILLIS);
+		}
+		
+		SearchControl search = new SearchControl(infinite);
+		currentSearch = search;
+		Position searchPosition = position;
+		List<Long> searchHistory = gameHistory;
+		long maxMillis = infinite ? 0 : moveTime;
+		int maxDepth = depth;
+		int maxMateMoves = mateMoves;
+		tasks.add(() -> {
+			try {
+				if (maxMateMoves > 0) {
+					searchMate(search, searchPosition, maxMateMoves, maxMillis);
+				} else {
+					searchBestMove(search, searchPosition, searchHistory, maxDepth, maxMillis);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+	}
+	
+	private void stopSearch() {
+		SearchControl search = currentSearch;
+		if (search != null) {
+			search.stop();
+		}
+	}
+	
+	private void searchBestMove(SearchControl search, Position position, List<Long> history, int maxDepth, long maxMillis) 
+			throws InterruptedException {
+		engine.setGameHistory(history);
+		engine.setInfoListener(result -> {
+			send(formatInfo(result));
+			if (search.stopped) {
+				engine.stop(); //in case "stop" came before the search started
+			}
+		});
+		SearchResult result = engine.search(position.board(), position.sideToMove(), position.previousMove(), 
+				search.stopped ? 1 : maxDepth, maxMillis);
+		search.awaitStopIfInfinite();
+		
+		List<Move> line = result.principalVariation();
+		if (result.bestMove() == null) {
+			send("bestmove 0000");
+		} else if (line.size() > 1) {
+			send("bestmove " + Position.formatMove(result.bestMove()) + " ponder " + Position.formatMove(line.get(1)));
+		} else {
+			send("bestmove " + Position.formatMove(result.bestMove()));
+		}
+	}
+	
+	/**
+	 * tries mates in 1, 2, ... maxMoves, so the first one found is the shortest; without one, falls back to the engine's 
+	 * best move at depth 1
+	 */
+	private void searchMate(SearchControl search, Position position, int maxMoves, long maxMillis) throws InterruptedException {
+		if (solverTranspositionTable == null) {
+			solverTranspositionTable = TranspositionTable.allocate(SOLVER_TT_SIZE_MB);
+		}
+		
+		long startMillis = System.currentTimeMillis();
+		for (int moves = 1; moves <= maxMoves && !search.stopped; moves++) {
+			long remainingMillis = maxMillis - (System.currentTimeMillis() - startMillis);
+			if (maxMillis > 0 && remainingMillis <= 0) {
+				break;
+			}
+			
+			Solver solver = new Solver(position.board(), position.sideToMove(), position.previousMove());
+			solver.setVerbose(false);
+			solver.setTranspositionTable(solverTranspositionTable);
+			search.solver = solver;
+			if (search.stopped) {
+				break;
+			}
+			
+			//the solver's own limit is in whole seconds, the timer stops it on the millisecond
+			boolean solved;
+			if (maxMillis > 0) {
+				ScheduledFuture<?> timeout = timer.schedule(solver::stop, remainingMillis, TimeUnit.MILLISECONDS);
+				try {
+					solved = solver.tryToSolveIn(moves, (int) (remainingMillis / 1000) + 1);
+				} finally {
+					timeout.cancel(false);
+				}
+			} else {
+				solved = solver.tryToSolveIn(moves, NO_TIME_LIMIT_SECONDS);
+			}
+			long millis = System.currentTimeMillis() - startMillis;
+			if (solved) {
+				String move = Position.formatMove(solver.getNextMoveIfSolved());
+				send(String.format("info depth %s score mate %s nodes %s time %s pv %s", 2 * moves - 1, moves, 
+						solver.getMovesCounter(), millis, move));
+				search.awaitStopIfInfinite();
+				send("bestmove " + move);
+				return;
+			}
+			if (solver.isTimedOut()) {
+				break;
+			}
+			send(String.format("info depth %s nodes %s time %s string no mate in %s", 2 * moves - 1, solver.getMovesCounter(), 
+					millis, moves));
+		}
+		
+		search.stopped = true;
+		searchBestMove(search, position, List.of(), 1, 0);
+	}
+	
+	private static String formatInfo(SearchResult result) {
+		String score = Math.abs(result.score()) >= Engine.MATE_BOUND ? "mate " + result.mateIn() : "cp " + result.score();
+		long nps = result.nodes() * 1000 / Math.max(1, result.millis());
+		String line = result.principalVariation().stream().map(Position::formatMove).collect(Collectors.joining(" "));
+		return String.format("info depth %s score %s nodes %s time %s nps %s pv %s", result.depth(), score, result.nodes(), 
+				result.millis(), nps, line).trim();
+	}
+	
+	private void send(String line) {
+		synchronized (out) {
+			out.println(line);
+			out.flush();
+		}
+	}
+	
+	private static int indexOf(String[] tokens, String token) {
+		for (int i = 0; i < tokens.length; i++) {
+			if (tokens[i].equals(token)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	public static void main(String[] args) throws InterruptedException {
+		new UciEngine(new InputStreamReader(System.in), System.out).run();
+	}
+}
@@ -0,0 +1,130 @@
+package chess.engine;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.ChessPiece;
+import chess.model.Side;
+import chess.moves.Move;
+import chess.moves.MovesProcessor;
+
+public class EngineTest {
+
+	private BoardModel getKings() {
+		BoardModel board = new BoardModel();
+		board.placePiece(Cell.of(0, 4), ChessPiece.BLACK_KING);
+		board.placePiece(Cell.of(7, 4), ChessPiece.WHITE_KING);
+		return board;
+	}
+	
+	private BoardModel getStartingPosition() {
+		BoardModel board = new BoardModel();
+		ChessPiece[] whiteRow = {ChessPiece.WHITE_ROOK, ChessPiece.WHITE_KNIGHT, ChessPiece.WHITE_BISHOP, ChessPiece.WHITE_QUEEN,
+				ChessPiece.WHITE_KING, ChessPiece.WHITE_BISHOP, ChessPiece.WHITE_KNIGHT, ChessPiece.WHITE_ROOK};
+		ChessPiece[] blackRow = {ChessPiece.BLACK_ROOK, ChessPiece.BLACK_KNIGHT, ChessPiece.BLACK_BISHOP, ChessPiece.BLACK_QUEEN,
+				ChessPiece.BLACK_KING, ChessPiece.BLACK_BISHOP, ChessPiece.BLACK_KNIGHT, ChessPiece.BLACK_ROOK};
+		for (int col = 0; col < 8; col++) {
+			board.placePiece(Cell.of(0, col), blackRow[col]);
+			board.placePiece(Cell.of(1, col), ChessPiece.BLACK_PAWN);
+			board.placePiece(Cell.of(6, col), ChessPiece.WHITE_PAWN);
+			board.placePiece(Cell.of(7, col), whiteRow[col]);
+		}
+		return board;
+	}
+	
+	@Test
+	public void testFindsMateInOne() {
+		BoardModel board = getKings();
+		board.placePiece(Cell.of(1, 0), ChessPiece.BLACK_PAWN);
+		board.placePiece(Cell.of(1, 3), ChessPiece.BLACK_PAWN);
+		board.placePiece(Cell.of(1, 4), ChessPiece.BLACK_PAWN);
+		board.placePiece(Cell.of(1, 5), ChessPiece.BLACK_PAWN);
+		board.placePiece(Cell.of(5, 7), ChessPiece.WHITE_ROOK);
+		
+		SearchResult result = new Engine().search(board, Side.WHITE, null, 4, 0);
+		assertEquals(Cell.of(0, 7), result.bestMove().getTarget()); //back rank mate
+		assertEquals(1, result.mateIn());
+		BoardModel boardAfterMove = MovesProcessor.applyMove(board, result.bestMove());
+		assertTrue(MovesProcessor.isCheckMateOnColor(boardAfterMove, Side.BLACK, result.bestMove()));
+	}
+	
+	@Test
+	public void testWinsHangingQueen() {
+		BoardModel board = getKings();
+		board.placePiece(Cell.of(6, 0), ChessPiece.WHITE_PAWN);
+		board.placePiece(Cell.of(6, 1), ChessPiece.WHITE_PAWN);
+		board.placePiece(Cell.of(1, 0), ChessPiece.BLACK_PAWN);
+		board.placePiece(Cell.of(1, 1), ChessPiece.BLACK_PAWN);
+		board.placePiece(Cell.of(5, 5), ChessPiece.WHITE_KNIGHT);
+		board.placePiece(Cell.of(3, 4), ChessPiece.BLACK_QUEEN); //attacked by the knight, defended by nothing
+		
+		SearchResult result = new Engine().search(board, Side.WHITE, null, 4, 0);
+		assertEquals(new Move(board, ChessPiece.WHITE_KNIGHT, Cell.of(5, 5), Cell.of(3, 4)), result.bestMove());
+		assertTrue(result.score() > 300); //a knight up
+		assertEquals(result.bestMove(), result.principalVariation().get(0));
+	}
+	
+	@Test
+	public void testAvoidsPoisonedCapture() {
+		BoardModel board = getKings();
+		board.placePiece(Cell.of(5, 3), ChessPiece.WHITE_QUEEN);
+		board.placePiece(Cell.of(2, 3), ChessPiece.BLACK_PAWN);
+		board.placePiece(Cell.of(1, 2), ChessPiece.BLACK_PAWN); //defends the pawn on (2, 3)
+		
+		SearchResult result = new Engine().search(board, Side.WHITE, null, 3, 0);
+		assertNotEquals(Cell.of(2, 3), result.bestMove().getTarget());
+	}
+	
+	@Test
+	public void testStalemateIsADraw() {
+		BoardModel board = new BoardModel();
+		board.placePiece(Cell.of(0, 0), ChessPiece.BLACK_KING);
+		board.placePiece(Cell.of(2, 1), ChessPiece.WHITE_QUEEN);
+		board.placePiece(Cell.of(7, 7), ChessPiece.WHITE_KING);
+		
+		SearchResult result = new Engine().search(board, Side.BLACK, null, 3, 0);
+		assertNull(result.bestMove());
+		assertEquals(0, result.score());
+	}
+	
+	@Test
+	public void testRespectsTimeLimit() {
+		Engine engine = new Engine();
+		int[] depths = new int[1];
+		engine.setInfoListener(result -> depths[0] = result.depth());
+		long start = System.currentTimeMillis();
+		SearchResult result = engine.search(getStartingPosition(), Side.WHITE, null, Engine.MAX_DEPTH, 300);
+		long millis = System.currentTimeMillis() - start;
+		
+		assertNotNull(result.bestMove());
+		assertEquals(depths[0], result.depth());
+		assertTrue(result.depth() >= 3);
+		assertTrue("took " + millis + " ms", millis < 1000);
+	}
+	
+	@Test
+	public void testEvaluationIsSymmetric() {
+		BoardModel board = getStartingPosition();
+		assertEquals(0, Evaluator.evaluate(board, Side.WHITE));
+		
+		board.removePiece(Cell.of(1, 3), true);
+		board.placePiece(Cell.of(3, 3), ChessPiece.BLACK_PAWN);
+		board.removePiece(Cell.of(7, 6), true);
+		board.placePiece(Cell.of(5, 5), ChessPiece.WHITE_KNIGHT);
+		assertEquals(Evaluator.evaluate(board, Side.WHITE), -Evaluator.evaluate(board, Side.BLACK));
+		
+		//the same position with colors (and rows) swapped scores the same for the other side
+		BoardModel mirrored = new BoardModel();
+		for (int index = 0; index < 64; index++) {
+			ChessPiece piece = board.getPiece(Cell.of(index));
+			if (piece != ChessPiece.NO_PIECE) {
+				int mirroredId = piece.getId() + (piece.getSide() == Side.WHITE ? 10 : -10);
+				mirrored.placePiece(Cell.of(index ^ 56), ChessPiece.fromId((byte) mirroredId));
+			}
+		}
+		assertEquals(Evaluator.evaluate(board, Side.WHITE), Evaluator.evaluate(mirrored, Side.BLACK));
+	}
+}
@@ -0,0 +1,140 @@
+package chess.model;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class BoardModelTest {
+
+	@Test
+	public void testGetPlaceAndRemovePiece() {
+		BoardModel board = new BoardModel();
+		Cell cell = Cell.of(0, 0);
+		
+		//before placing any pieces should be NO_PIECE in this cell
+		assertEquals(ChessPiece.NO_PIECE, board.getPiece(cell));
+		assertFalse(board.isCellOccupied(cell));
+		
+		//place a piece and confirm there
+		board.placePiece((byte) cell.getRow(), (byte) cell.getCol(), ChessPiece.BLACK_BISHOP);
+		assertEquals(ChessPiece.BLACK_BISHOP, board.getPiece(cell));
+		assertTrue(board.isCellOccupied(cell));
+	
+		//replace piece with new one and confirm new one is there
+		board.placePiece((byte) cell.getRow(), (byte) cell.getCol(), ChessPiece.WHITE_QUEEN);
+		assertEquals(ChessPiece.WHITE_QUEEN, board.getPiece(cell));
+		assertTrue(board.isCellOccupied(cell));
+		
+		//remove piece and confirm gone
+		assertEquals(ChessPiece.WHITE_QUEEN, board.removePiece((byte) cell.getRow(), (byte) cell.getCol(), true));
+		assertEquals(ChessPiece.NO_PIECE, board.getPiece(cell));
+		assertFalse(board.isCellOccupied(cell));
+		
+		//remove piece again from empty square but with failIfSquareIsAlreadyEmpty = false
+		assertEquals(ChessPiece.NO_PIECE, board.removePiece(cell, false));
+		
+		//this time remove with failIfSquareIsAlreadyEmpty = true, should throw an IllegalStateException
+		try {
+			board.removePiece(cell, true);
+			fail("Expecting an IllegalStateException");
+		} catch (IllegalStateException expected) {}
+	}
+	
+	@Test
+	public void testGetClone() {
+		BoardModel original = new BoardModel();
+		Cell cell = Cell.of(1, 1);
+		
+		original.placePiece((byte) cell.getRow(), (byte) cell.getCol(), ChessPiece.BLACK_BISHOP);
+		assertTrue(original.isCellOccupied(cell));
+				
+		//clone board and confirm corresponding cell is still occupied
+		BoardModel clone = original.getClone();
+		assertTrue(clone.isCellOccupied(cell));
+		assertEquals(original, clone);
+		
+		//remove piece from first board, confirm that it hasn't been removed from clone
+		original.removePiece((byte) cell.getRow(), (byte) cell.getCol(), true);
+		assertFalse(original.isCellOccupied(cell));
+		assertTrue(clone.isCellOccupied(cell));
+		assertNotEquals(original, clone);
+	}
+	
+	@Test
+	public void testAttackMaps() {
+		BoardModel board = new BoardModel();
+		board.placePiece(Cell.of(7, 0), ChessPiece.WHITE_ROOK);
+		assertTrue(board.isAttacked(Cell.of(0, 0), Side.WHITE));
+		assertTrue(board.isAttacked(Cell.of(7, 7), Side.WHITE));
+		assertFalse(board.isAttacked(Cell.of(6, 1), Side.WHITE));
+		
+		//a blocker cuts the ray (but is itself attacked), removing it opens the ray again
+		board.placePiece(Cell.of(4, 0), ChessPiece.BLACK_PAWN);
+		assertTrue(board.isAttacked(Cell.of(4, 0), Side.WHITE));
+		assertFalse(board.isAttacked(Cell.of(3, 0), Side.WHITE));
+		assertTrue(board.isAttacked(Cell.of(5, 1), Side.BLACK));
+		board.removePiece(Cell.of(4, 0), true);
+		assertTrue(board.isAttacked(Cell.of(0, 0), Side.WHITE));
+		assertFalse(board.isAttacked(Cell.of(5, 1), Side.BLACK));
+		
+		board.placePiece(Cell.of(5, 2), ChessPiece.WHITE_KNIGHT);
+		assertEquals(2, board.getAttackerCount(Cell.of(7, 1), Side.WHITE)); //rook and knight
+	}
+	
+	@Test
+	public void testAttackMapsMatchRecomputation() {
+		ChessPiece[] pieces = {ChessPiece.WHITE_QUEEN, ChessPiece.WHITE_ROOK, ChessPiece.WHITE_BISHOP, ChessPiece.WHITE_KNIGHT,
+				ChessPiece.WHITE_PAWN, ChessPiece.WHITE_KING, ChessPiece.BLACK_QUEEN, ChessPiece.BLACK_ROOK, ChessPiece.BLACK_BISHOP,
+				ChessPiece.BLACK_KNIGHT, ChessPiece.BLACK_PAWN, ChessPiece.BLACK_KING};
+		Random random = new Random(1);
+		BoardModel board = new BoardModel();
+		for (int i = 0; i < 2000; i++) {
+			Cell cell = Cell.of(random.nextInt(64));
+			if (random.nextInt(3) == 0) {
+				board.removePiece(cell, false);
+			} else {
+				board.placePiece(cell, pieces[random.nextInt(pieces.length)]);
+			}
+			
+			//an incrementally updated board must agree with one built from scratch (and so must its clone)
+			BoardModel rebuilt = new BoardModel();
+			for (int index = 0; index < 64; index++) {
+				rebuilt.placePiece(Cell.of(index), board.getPiece(Cell.of(index)));
+			}
+			BoardModel clone = board.getClone();
+			for (Side side : new Side[] {Side.WHITE, Side.BLACK}) {
+				assertEquals(rebuilt.getAttackedSquares(side), board.getAttackedSquares(side));
+				assertEquals(rebuilt.getAttackedSquares(side), clone.getAttackedSquares(side));
+				assertEquals(rebuilt.getOccupiedSquares(side), board.getOccupiedSquares(side));
+				assertEquals(rebuilt.getKingSquares(side), board.getKingSquares(side));
+				for (int index = 0; index < 64; index++) {
+					assertEquals(rebuilt.getAttackerCount(Cell.of(index), side), board.getAttackerCount(Cell.of(index), side));
+				}
+			}
+		}
+	}
+	
+	@Test
+	public void testPieceSquares() {
+		BoardModel board = new BoardModel();
+		assertNull(board.getKingCell(Side.WHITE));
+		
+		board.placePiece(Cell.of(7, 4), ChessPiece.WHITE_KING);
+		board.placePiece(Cell.of(6, 3), ChessPiece.WHITE_PAWN);
+		board.placePiece(Cell.of(0, 4), ChessPiece.BLACK_KING);
+		assertEquals(Cell.of(7, 4), board.getKingCell(Side.WHITE));
+		assertEquals(Cell.of(0, 4), board.getKingCell(Side.BLACK));
+		assertEquals((1L << Cell.of(7, 4).getIndex()) | (1L << Cell.of(6, 3).getIndex()), board.getOccupiedSquares(Side.WHITE));
+		
+		//capturing the pawn with a black piece moves the square over to black
+		board.placePiece(Cell.of(6, 3), ChessPiece.BLACK_QUEEN);
+		assertEquals(1L << Cell.of(7, 4).getIndex(), board.getOccupiedSquares(Side.WHITE));
+		assertEquals(2, Long.bitCount(board.getOccupiedSquares(Side.BLACK)));
+		
+		board.removePiece(Cell.of(7, 4), true);
+		assertNull(board.getKingCell(Side.WHITE));
+		assertEquals(0L, board.getOccupiedSquares(Side.WHITE));
+	}
+}
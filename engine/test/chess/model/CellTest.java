@@ -0,0 +1,36 @@
+package chess.model;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class CellTest {
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidRowLow() { Cell.of(-1, 0); }
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidRowHigh() { Cell.of(8, 0); }
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidColLow() { Cell.of(0, -1); }
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidColHigh() { Cell.of(0, 8); }
+	
+	@Test
+	public void testGetLabel() {
+		assertEquals("A8", Cell.of(0, 0).getLabel());
+		assertEquals("H8", Cell.of(0, 7).getLabel());
+		assertEquals("A1", Cell.of(7, 0).getLabel());
+		assertEquals("H1", Cell.of(7, 7).getLabel());
+	}
+	
+	@Test
+	public void testSameCellIsSameInstance() {
+		assertSame(Cell.of(3, 4), Cell.of(3, 4));
+		assertSame(Cell.of(3, 4), Cell.of(3 * 8 + 4));
+		assertEquals(3 * 8 + 4, Cell.of(3, 4).getIndex());
+		assertNotEquals(Cell.of(3, 4), Cell.of(4, 3));
+	}
+}
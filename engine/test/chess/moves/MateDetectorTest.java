@@ -0,0 +1,100 @@
+package chess.moves;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.ChessPiece;
+import chess.model.PieceType;
+import chess.model.Side;
+
+public class MateDetectorTest {
+	private static final ChessPiece[] PIECES = {ChessPiece.WHITE_QUEEN, ChessPiece.WHITE_ROOK, ChessPiece.WHITE_BISHOP, 
+			ChessPiece.WHITE_KNIGHT, ChessPiece.WHITE_PAWN, ChessPiece.BLACK_QUEEN, ChessPiece.BLACK_ROOK, ChessPiece.BLACK_BISHOP, 
+			ChessPiece.BLACK_KNIGHT, ChessPiece.BLACK_PAWN};
+	
+	/**
+	 * one king per side and a few random pieces (pawns never on the first or last row)
+	 */
+	private BoardModel getRandomBoard(Random random) {
+		BoardModel board = new BoardModel();
+		board.placePiece(Cell.of(random.nextInt(64)), ChessPiece.WHITE_KING);
+		Cell blackKingsCell;
+		do {
+			blackKingsCell = Cell.of(random.nextInt(64));
+		} while (board.isCellOccupied(blackKingsCell));
+		board.placePiece(blackKingsCell, ChessPiece.BLACK_KING);
+		
+		int pieces = 1 + random.nextInt(6);
+		for (int i = 0; i < pieces; i++) {
+			Cell cell = Cell.of(random.nextInt(64));
+			ChessPiece piece = PIECES[random.nextInt(PIECES.length)];
+			boolean pawnOnLastRow = piece.getPieceType() == PieceType.PAWN && (cell.getRow() == 0 || cell.getRow() == 7);
+			if (board.isCellVacant(cell) && !pawnOnLastRow) {
+				board.placePiece(cell, piece);
+			}
+		}
+		return board;
+	}
+	
+	@Test
+	public void testIsCheckMateAgreesWithFullMoveGeneration() {
+		Random random = new Random(1);
+		int checks = 0, mates = 0;
+		while (checks < 2000) {
+			BoardModel board = getRandomBoard(random);
+			for (Side side : new Side[]{Side.WHITE, Side.BLACK}) {
+				//a position where the side to move in check could also give check isn't reachable, skip it
+				if (!MovesProcessor.isCheckOnColor(board, side, null) || MovesProcessor.isCheckOnColor(board, side.opponent(), null)) {
+					continue;
+				}
+				
+				checks++;
+				boolean mate = !MovesProcessor.hasLegalMove(board, side, null);
+				assertEquals(board.toString(), mate, MateDetector.isCheckMate(board, side, null));
+				mates += mate ? 1 : 0;
+			}
+		}
+		assertTrue(mates > 0);
+	}
+	
+	@Test
+	public void testCheckScreenMissesNoCheck() {
+		Random random = new Random(2);
+		for (int i = 0; i < 500; i++) {
+			BoardModel board = getRandomBoard(random);
+			for (Side side : new Side[]{Side.WHITE, Side.BLACK}) {
+				for (Move move : MovesProcessor.getAllMoves(board, side, null, false).getAllMoves()) {
+					if (MovesProcessor.isCheckOnColor(MovesProcessor.applyMove(board, move), side.opponent(), move)) {
+						assertTrue(board + " " + move, MateDetector.mayGiveCheck(board, move));
+					}
+				}
+			}
+		}
+	}
+	
+	@Test
+	public void testEnPassantOutOfMate() {
+		//e7-e5 checks the king on d4, every escape square is covered, the pawn is defended, only f5xe6 (en passant) saves white
+		BoardModel board = new BoardModel();
+		board.placePiece(Cell.of(4, 3), ChessPiece.WHITE_KING);
+		board.placePiece(Cell.of(3, 5), ChessPiece.WHITE_PAWN);
+		board.placePiece(Cell.of(0, 7), ChessPiece.BLACK_KING);
+		board.placePiece(Cell.of(0, 2), ChessPiece.BLACK_ROOK);
+		board.placePiece(Cell.of(7, 4), ChessPiece.BLACK_ROOK);
+		board.placePiece(Cell.of(4, 1), ChessPiece.BLACK_KNIGHT);
+		board.placePiece(Cell.of(1, 4), ChessPiece.BLACK_PAWN);
+		Move pawnAdvance = new Move(board, ChessPiece.BLACK_PAWN, Cell.of(1, 4), Cell.of(3, 4));
+		BoardModel boardAfterMove = MovesProcessor.applyMove(board, pawnAdvance);
+		
+		assertFalse(MateDetector.isCheckMate(boardAfterMove, Side.WHITE, pawnAdvance));
+		assertEquals(1, MovesProcessor.countAllMoves(boardAfterMove, Side.WHITE, pawnAdvance));
+		
+		//without the en-passant option (e.g. the pawn was already on e5) it's mate
+		assertTrue(MateDetector.isCheckMate(boardAfterMove, Side.WHITE, null));
+	}
+}
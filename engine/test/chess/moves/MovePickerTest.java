@@ -0,0 +1,68 @@
+package chess.moves;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Test;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.ChessPiece;
+import chess.model.Side;
+
+public class MovePickerTest {
+
+	private BoardModel getBoard() {
+		BoardModel board = new BoardModel();
+		board.placePiece(Cell.of(7, 6), ChessPiece.WHITE_KING);
+		board.placePiece(Cell.of(7, 0), ChessPiece.WHITE_ROOK);
+		board.placePiece(Cell.of(3, 4), ChessPiece.WHITE_KNIGHT);
+		board.placePiece(Cell.of(0, 7), ChessPiece.BLACK_KING);
+		board.placePiece(Cell.of(1, 6), ChessPiece.BLACK_PAWN);
+		board.placePiece(Cell.of(1, 7), ChessPiece.BLACK_PAWN);
+		board.placePiece(Cell.of(5, 3), ChessPiece.BLACK_BISHOP);
+		return board;
+	}
+	
+	@Test
+	public void testYieldsAllLegalMovesOnce() {
+		BoardModel board = getBoard();
+		for (Side side : new Side[]{Side.WHITE, Side.BLACK}) {
+			List<Move> picked = new ArrayList<>();
+			MovePicker picker = new MovePicker(board, side, null, null, null);
+			for (Move move = picker.next(); move != null; move = picker.next()) {
+				picked.add(move);
+			}
+			
+			assertEquals(new HashSet<>(MovesProcessor.getAllMoves(board, side, null, true).getAllMoves()), new HashSet<>(picked));
+			assertEquals(MovesProcessor.countAllMoves(board, side, null), picked.size());
+		}
+	}
+	
+	@Test
+	public void testStages() {
+		BoardModel board = getBoard();
+		Move hashMove = new Move(board, ChessPiece.WHITE_KING, Cell.of(7, 6), Cell.of(7, 7));
+		MovePicker picker = new MovePicker(board, Side.WHITE, null, hashMove, null);
+		
+		assertEquals(hashMove, picker.next());
+		
+		//then the checks (Ra8 and Nf7/Ng6), then the capture of the bishop, then the rest
+		int checks = 0;
+		Move move = picker.next();
+		for (; picker.givesCheck(); move = picker.next()) {
+			checks++;
+		}
+		assertEquals(3, checks);
+		assertTrue(move.isCapturePiece());
+		assertEquals(Cell.of(5, 3), move.getTarget());
+		assertFalse(picker.next().isCapturePiece());
+		
+		//rewind replays the same moves
+		picker.rewind();
+		assertEquals(hashMove, picker.next());
+	}
+}
@@ -0,0 +1,51 @@
+package chess.moves;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.ChessPiece;
+import chess.model.Side;
+
+public class MovesProcessorTest {
+
+	@Test
+	public void testLocateKing() {
+		BoardModel board = new BoardModel();
+		Cell location = Cell.of(5, 5);
+		ChessPiece king = ChessPiece.WHITE_KING;
+		board.placePiece(location, king);
+	
+		assertEquals(location, MovesProcessor.locateKing(board, Side.WHITE));
+	}
+	
+	public void testLocateKingWhenAbsent() {
+		BoardModel board = new BoardModel();
+		Cell location = Cell.of(5, 5);
+		ChessPiece king = ChessPiece.WHITE_KING;
+		board.placePiece(location, king);
+	
+		assertNull(MovesProcessor.locateKing(board, Side.BLACK)); //we placed a white king on the board, black is missing
+	}
+	
+	@Test
+	public void testNoCastlingThroughCheck() {
+		BoardModel board = new BoardModel();
+		board.placePiece(Cell.of(7, 4), ChessPiece.WHITE_KING);
+		board.placePiece(Cell.of(7, 7), ChessPiece.WHITE_ROOK);
+		board.placePiece(Cell.of(7, 0), ChessPiece.WHITE_ROOK);
+		board.placePiece(Cell.of(0, 4), ChessPiece.BLACK_KING);
+		Move kingSide = new Move(board, ChessPiece.WHITE_KING, Cell.of(7, 4), Cell.of(7, 6));
+		Move queenSide = new Move(board, ChessPiece.WHITE_KING, Cell.of(7, 4), Cell.of(7, 2));
+		assertTrue(MovesProcessor.isValidMove(board, kingSide, null));
+		assertTrue(MovesProcessor.isValidMove(board, queenSide, null));
+		
+		//a black rook on the f file covers f1, which the king would pass over when castling king-side
+		board.placePiece(Cell.of(2, 5), ChessPiece.BLACK_ROOK);
+		assertFalse(MovesProcessor.isValidMove(board, kingSide, null));
+		assertTrue(MovesProcessor.isValidMove(board, queenSide, null));
+		assertFalse(MovesProcessor.isLegalMove(board, kingSide, null, MovesProcessor.applyMove(board, kingSide)));
+	}
+}
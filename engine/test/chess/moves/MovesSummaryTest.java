@@ -0,0 +1,47 @@
+package chess.moves;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.ChessPiece;
+import chess.model.PieceType;
+import chess.model.Side;
+
+public class MovesSummaryTest {
+
+	private BoardModel getBoard() {
+		BoardModel board = new BoardModel();
+		board.placePiece(Cell.of(7, 4), ChessPiece.WHITE_KING);
+		board.placePiece(Cell.of(6, 3), ChessPiece.WHITE_QUEEN);
+		board.placePiece(Cell.of(0, 4), ChessPiece.BLACK_KING);
+		board.placePiece(Cell.of(3, 3), ChessPiece.BLACK_ROOK);
+		return board;
+	}
+	
+	@Test
+	public void testCapturedPieceIndex() {
+		MovesSummary movesSummary = MovesProcessor.getAllMoves(getBoard(), Side.WHITE, null, true);
+		
+		assertEquals(1, movesSummary.getMovesForCapturedPieceType(PieceType.ROOK).size());
+		assertNull(movesSummary.getMovesForCapturedPieceType(PieceType.KING));
+		assertEquals(movesSummary.getNumberOfMoves(), movesSummary.getMovesForPieceType(PieceType.QUEEN).size() 
+				+ movesSummary.getMovesForPieceType(PieceType.KING).size());
+	}
+	
+	@Test
+	public void testCountAllMoves() {
+		BoardModel board = getBoard();
+		for (Side side : new Side[]{Side.WHITE, Side.BLACK}) {
+			assertEquals(MovesProcessor.getAllMoves(board, side, null, true).getNumberOfMoves(), 
+					MovesProcessor.countAllMoves(board, side, null));
+		}
+	}
+	
+	@Test(expected = IllegalStateException.class)
+	public void testCountingSummaryHasNoMoves() {
+		MovesSummary.counting(Side.WHITE, getBoard()).getAllMoves();
+	}
+}
@@ -0,0 +1,90 @@
+package chess.moves;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.ChessPiece;
+import chess.model.Side;
+
+public class StaticExchangeTest {
+
+	private BoardModel getKings() {
+		BoardModel board = new BoardModel();
+		board.placePiece(Cell.of(0, 7), ChessPiece.BLACK_KING);
+		board.placePiece(Cell.of(7, 0), ChessPiece.WHITE_KING);
+		return board;
+	}
+	
+	@Test
+	public void testSimpleExchanges() {
+		BoardModel board = getKings();
+		board.placePiece(Cell.of(4, 3), ChessPiece.WHITE_ROOK);
+		board.placePiece(Cell.of(2, 3), ChessPiece.BLACK_PAWN);
+		Move rookTakesPawn = new Move(board, ChessPiece.WHITE_ROOK, Cell.of(4, 3), Cell.of(2, 3));
+		assertEquals(100, StaticExchange.evaluate(board, rookTakesPawn)); //undefended
+		
+		board.placePiece(Cell.of(1, 4), ChessPiece.BLACK_PAWN); //defends the pawn
+		assertEquals(100 - 500, StaticExchange.evaluate(board, rookTakesPawn));
+		assertFalse(StaticExchange.isSafe(board, rookTakesPawn));
+		
+		//quiet moves: to a square the pawn attacks, and to one it doesn't
+		board = getKings();
+		board.placePiece(Cell.of(4, 3), ChessPiece.WHITE_ROOK);
+		board.placePiece(Cell.of(2, 4), ChessPiece.BLACK_PAWN);
+		assertEquals(-500, StaticExchange.evaluate(board, new Move(board, ChessPiece.WHITE_ROOK, Cell.of(4, 3), Cell.of(3, 3))));
+		assertEquals(0, StaticExchange.evaluate(board, new Move(board, ChessPiece.WHITE_ROOK, Cell.of(4, 3), Cell.of(4, 4))));
+	}
+	
+	@Test
+	public void testXrays() {
+		//white: rooks doubled on the d-file, black: pawn on d6 defended by a rook on d8
+		BoardModel board = getKings();
+		board.placePiece(Cell.of(6, 3), ChessPiece.WHITE_ROOK);
+		board.placePiece(Cell.of(7, 3), ChessPiece.WHITE_ROOK);
+		board.placePiece(Cell.of(2, 3), ChessPiece.BLACK_PAWN);
+		board.placePiece(Cell.of(0, 3), ChessPiece.BLACK_ROOK);
+		Move rookTakesPawn = new Move(board, ChessPiece.WHITE_ROOK, Cell.of(6, 3), Cell.of(2, 3));
+		//RxP RxR RxR: pawn + rook for a rook
+		assertEquals(100, StaticExchange.evaluate(board, rookTakesPawn));
+		
+		board.placePiece(Cell.of(1, 2), ChessPiece.BLACK_BISHOP); //a second defender: RxP BxR, white stops
+		assertEquals(100 - 500, StaticExchange.evaluate(board, rookTakesPawn));
+	}
+	
+	@Test
+	public void testKingOnlyRecapturesUndefendedPieces() {
+		BoardModel board = getKings();
+		board.placePiece(Cell.of(1, 6), ChessPiece.BLACK_PAWN); //next to the black king
+		board.placePiece(Cell.of(4, 6), ChessPiece.WHITE_ROOK);
+		Move rookTakesPawn = new Move(board, ChessPiece.WHITE_ROOK, Cell.of(4, 6), Cell.of(1, 6));
+		assertEquals(100 - 500, StaticExchange.evaluate(board, rookTakesPawn));
+		
+		board.placePiece(Cell.of(7, 6), ChessPiece.WHITE_ROOK); //now the king can't take back
+		assertEquals(100, StaticExchange.evaluate(board, rookTakesPawn));
+	}
+	
+	@Test
+	public void testMovePickerTriesLosingCapturesLast() {
+		BoardModel board = getKings();
+		board.placePiece(Cell.of(4, 3), ChessPiece.WHITE_QUEEN);
+		board.placePiece(Cell.of(3, 4), ChessPiece.BLACK_PAWN);
+		board.placePiece(Cell.of(2, 5), ChessPiece.BLACK_PAWN); //defends the pawn on (3, 4)
+		board.placePiece(Cell.of(4, 6), ChessPiece.BLACK_KNIGHT); //undefended
+		
+		MovePicker picker = new MovePicker(board, Side.WHITE, null, null, null);
+		Move last = null;
+		Move firstCapture = null;
+		for (Move move = picker.next(); move != null; move = picker.next()) {
+			if (firstCapture == null && move.isCapturePiece() && !picker.givesCheck()) {
+				firstCapture = move;
+			}
+			last = move;
+		}
+		assertEquals(Cell.of(4, 6), firstCapture.getTarget());
+		assertEquals(Cell.of(3, 4), last.getTarget());
+		assertEquals(MovePicker.Stage.DONE, picker.getStage());
+	}
+}
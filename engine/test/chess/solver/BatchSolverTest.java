@@ -0,0 +1,41 @@
+package chess.solver;
+
+import static org.junit.Assert.*;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Test;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.ChessPiece;
+import chess.model.Side;
+
+public class BatchSolverTest {
+
+	@Test
+	public void testFailedPuzzleDoesntAffectOthers() throws InterruptedException {
+		BoardModel backRankMate = new BoardModel();
+		backRankMate.placePiece(Cell.of(0, 7), ChessPiece.BLACK_KING);
+		backRankMate.placePiece(Cell.of(1, 6), ChessPiece.BLACK_PAWN);
+		backRankMate.placePiece(Cell.of(1, 7), ChessPiece.BLACK_PAWN);
+		backRankMate.placePiece(Cell.of(7, 0), ChessPiece.WHITE_ROOK);
+		backRankMate.placePiece(Cell.of(7, 6), ChessPiece.WHITE_KING);
+		
+		Map<String, BatchResult> results = new ConcurrentHashMap<>();
+		try (BatchSolver batchSolver = new BatchSolver(2, 1, result -> results.put(result.id(), result))) {
+			batchSolver.submit(new BatchPuzzle("broken", null, Side.WHITE, 2, 5));
+			batchSolver.submit(new BatchPuzzle("mate", backRankMate, Side.WHITE, 2, 5));
+			batchSolver.awaitCompletion();
+		}
+		
+		assertTrue(results.get("broken").isFailed());
+		
+		BatchResult mate = results.get("mate");
+		assertFalse(mate.isFailed());
+		assertTrue(mate.solved());
+		assertEquals(1, mate.mateIn());
+		assertEquals(Cell.of(0, 0), mate.move().getTarget());
+	}
+}
@@ -0,0 +1,52 @@
+package chess.solver;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.ChessPiece;
+import chess.model.Side;
+
+public class CookDetectorTest {
+
+	private BoardModel getBackRankMate() {
+		BoardModel board = new BoardModel();
+		board.placePiece(Cell.of(0, 7), ChessPiece.BLACK_KING);
+		board.placePiece(Cell.of(1, 6), ChessPiece.BLACK_PAWN);
+		board.placePiece(Cell.of(1, 7), ChessPiece.BLACK_PAWN);
+		board.placePiece(Cell.of(7, 0), ChessPiece.WHITE_ROOK);
+		board.placePiece(Cell.of(7, 6), ChessPiece.WHITE_KING);
+		return board;
+	}
+	
+	@Test
+	public void testUniqueKey() {
+		CookReport report = new CookDetector(2).findKeys(getBackRankMate(), Side.WHITE, null, 1, 30);
+		
+		assertTrue(report.hasUniqueKey());
+		assertEquals(Cell.of(0, 0), report.keys().get(0).move().getTarget());
+		assertEquals(1, report.keys().get(0).mateIn());
+	}
+	
+	@Test
+	public void testCooked() {
+		BoardModel board = getBackRankMate();
+		board.placePiece(Cell.of(6, 1), ChessPiece.WHITE_ROOK); //Rb8 mates as well
+		CookReport report = new CookDetector(2).findKeys(board, Side.WHITE, null, 1, 30);
+		
+		assertTrue(report.isComplete());
+		assertFalse(report.hasUniqueKey());
+		assertEquals(2, report.keys().size());
+	}
+	
+	@Test
+	public void testShortestMateFirst() {
+		CookReport report = new CookDetector(2).findKeys(getBackRankMate(), Side.WHITE, null, 2, 30);
+		
+		assertTrue(report.isComplete());
+		assertEquals(Cell.of(0, 0), report.keys().get(0).move().getTarget());
+		assertEquals(1, report.keys().get(0).mateIn());
+	}
+}
@@ -0,0 +1,76 @@
+package chess.solver;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.ChessPiece;
+import chess.model.Side;
+
+public class MatingMaterialTest {
+
+	private BoardModel getBareKings() {
+		BoardModel board = new BoardModel();
+		board.placePiece(Cell.of(0, 4), ChessPiece.BLACK_KING);
+		board.placePiece(Cell.of(7, 4), ChessPiece.WHITE_KING);
+		return board;
+	}
+	
+	@Test
+	public void testIsSufficient() {
+		BoardModel board = getBareKings();
+		assertFalse(MatingMaterial.isSufficient(board, Side.WHITE));
+		
+		board.placePiece(Cell.of(5, 5), ChessPiece.WHITE_KNIGHT);
+		assertFalse(MatingMaterial.isSufficient(board, Side.WHITE));
+		board.placePiece(Cell.of(5, 6), ChessPiece.WHITE_KNIGHT);
+		assertTrue(MatingMaterial.isSufficient(board, Side.WHITE)); //K+N+N can mate from some positions
+		board.placePiece(Cell.of(5, 2), ChessPiece.WHITE_BISHOP);
+		assertTrue(MatingMaterial.isSufficient(board, Side.WHITE));
+		
+		//bishops on one color only
+		board = getBareKings();
+		board.placePiece(Cell.of(5, 5), ChessPiece.WHITE_BISHOP);
+		board.placePiece(Cell.of(4, 4), ChessPiece.WHITE_BISHOP);
+		assertFalse(MatingMaterial.isSufficient(board, Side.WHITE));
+		board.placePiece(Cell.of(4, 5), ChessPiece.WHITE_BISHOP);
+		assertTrue(MatingMaterial.isSufficient(board, Side.WHITE));
+		
+		//a defender's piece can block its own king in (e.g. a smothered mate)
+		board = getBareKings();
+		board.placePiece(Cell.of(5, 5), ChessPiece.WHITE_KNIGHT);
+		board.placePiece(Cell.of(0, 3), ChessPiece.BLACK_ROOK);
+		assertTrue(MatingMaterial.isSufficient(board, Side.WHITE));
+		
+		board = getBareKings();
+		board.placePiece(Cell.of(6, 0), ChessPiece.WHITE_PAWN);
+		assertTrue(MatingMaterial.isSufficient(board, Side.WHITE));
+	}
+	
+	@Test
+	public void testTwoKnightsMate() {
+		BoardModel board = new BoardModel();
+		board.placePiece(Cell.of(0, 0), ChessPiece.BLACK_KING);
+		board.placePiece(Cell.of(1, 2), ChessPiece.WHITE_KING);
+		board.placePiece(Cell.of(2, 2), ChessPiece.WHITE_KNIGHT);
+		board.placePiece(Cell.of(3, 3), ChessPiece.WHITE_KNIGHT);
+		Solver solver = new Solver(board, Side.WHITE, null);
+		solver.setVerbose(false);
+		assertTrue(solver.tryToSolveIn(1, 10));
+		assertEquals(Cell.of(3, 3), solver.getNextMoveIfSolved().getSource());
+		assertEquals(Cell.of(2, 1), solver.getNextMoveIfSolved().getTarget());
+	}
+	
+	@Test
+	public void testSolverGivesUpWithoutSearching() {
+		BoardModel board = getBareKings();
+		board.placePiece(Cell.of(5, 5), ChessPiece.WHITE_KNIGHT);
+		Solver solver = new Solver(board, Side.WHITE, null);
+		solver.setVerbose(false);
+		assertFalse(solver.tryToSolveIn(5, 30));
+		assertFalse(solver.isTimedOut());
+		assertEquals(0, solver.getMovesCounter());
+	}
+}
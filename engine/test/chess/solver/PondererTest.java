@@ -0,0 +1,44 @@
+package chess.solver;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.ChessPiece;
+import chess.model.Side;
+import chess.moves.Move;
+import chess.moves.MovesProcessor;
+
+public class PondererTest {
+
+	@Test
+	public void testPonderDefenderReplies() {
+		BoardModel board = new BoardModel();
+		board.placePiece(Cell.of(0, 0), ChessPiece.BLACK_KING);
+		board.placePiece(Cell.of(2, 2), ChessPiece.WHITE_KING);
+		board.placePiece(Cell.of(4, 4), ChessPiece.WHITE_QUEEN);
+		Solver solver = new Solver(board, Side.WHITE, null);
+		solver.setVerbose(false);
+		assertTrue(solver.tryToSolveIn(2, 30));
+		Move key = solver.getNextMoveIfSolved();
+		BoardModel boardAfterKey = MovesProcessor.applyMove(board, key);
+		
+		try (Ponderer ponderer = new Ponderer(2, 10, 100)) {
+			ponderer.ponder(boardAfterKey, Side.WHITE, key, 1, 30);
+			
+			//every reply was pondered, the answer to any of them is a mate
+			for (Move reply : MovesProcessor.getAllMoves(boardAfterKey, Side.BLACK, key, true).getAllMoves()) {
+				BoardModel boardAfterReply = MovesProcessor.applyMove(boardAfterKey, reply);
+				assertNull(ponderer.getSolution(boardAfterReply, Side.WHITE, reply, 0)); //pondered for more moves
+				Move mate = ponderer.getSolution(boardAfterReply, Side.WHITE, reply, 1);
+				assertNotNull(mate);
+				assertTrue(MovesProcessor.isCheckMateOnColor(MovesProcessor.applyMove(boardAfterReply, mate), Side.BLACK, mate));
+			}
+			
+			//a position that wasn't pondered
+			assertNull(ponderer.getSolution(board, Side.WHITE, null, 2));
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package chess.solver;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.ChessPiece;
+import chess.moves.Move;
+
+public class SolveResultCacheTest {
+
+	@Test
+	public void testResultsSurviveReopen() throws IOException {
+		Path file = Files.createTempFile("solve-cache", ".bin");
+		Files.delete(file); //start with a brand new file
+		file.toFile().deleteOnExit(); //can't delete it before then on all platforms, it stays mapped
+		
+		BoardModel board = new BoardModel();
+		board.placePiece(Cell.of(7, 0), ChessPiece.WHITE_ROOK);
+		Move move = new Move(board, ChessPiece.WHITE_ROOK, Cell.of(7, 0), Cell.of(0, 0));
+		
+		try (SolveResultCache cache = SolveResultCache.open(file)) {
+			cache.putSolved(42L, 3, move, 1000);
+			cache.putUnsolved(42L, 2, 500);
+			cache.putUnsolved(43L, 4, 700);
+		}
+		
+		try (SolveResultCache cache = SolveResultCache.open(file)) {
+			assertEquals(3, cache.size());
+			
+			//mate in 3 answers queries for 3 or more moves, no mate in 2 answers queries for 2 or less
+			SolveResultCache.Entry entry = cache.lookup(42L, 5);
+			assertTrue(entry.solved());
+			assertEquals(move, entry.getBestMove(board));
+			assertFalse(cache.lookup(42L, 1).solved());
+			assertFalse(cache.lookup(42L, 2).solved());
+			
+			assertFalse(cache.lookup(43L, 4).solved());
+			assertNull(cache.lookup(43L, 5));
+			assertNull(cache.lookup(44L, 1));
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package chess.solver;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.ChessPiece;
+import chess.model.Side;
+import chess.moves.Move;
+import chess.moves.MovesProcessor;
+import chess.moves.PackedMove;
+import chess.moves.Zobrist;
+
+public class SolverCheckpointTest {
+
+	private BoardModel getBoard() {
+		BoardModel board = new BoardModel();
+		board.placePiece(Cell.of(0, 0), ChessPiece.BLACK_KING);
+		board.placePiece(Cell.of(2, 2), ChessPiece.WHITE_KING);
+		board.placePiece(Cell.of(4, 4), ChessPiece.WHITE_QUEEN);
+		return board;
+	}
+	
+	private Solver getSolver(BoardModel board, Path checkpointFile) {
+		Solver solver = new Solver(board, Side.WHITE, null);
+		solver.setVerbose(false);
+		solver.setCheckpoint(checkpointFile, 60);
+		return solver;
+	}
+	
+	@Test
+	public void testStoppedSolveIsSavedAndResumed() throws IOException {
+		Path directory = Files.createTempDirectory("checkpoints");
+		Path checkpointFile = directory.resolve("solve.checkpoint");
+		
+		Solver solver = getSolver(getBoard(), checkpointFile);
+		solver.stop();
+		assertFalse(solver.tryToSolveIn(2, 30));
+		assertTrue(solver.isTimedOut());
+		assertTrue(Files.exists(checkpointFile));
+		
+		//another solve's checkpoint is ignored
+		long key = Zobrist.hash(getBoard(), Side.WHITE, null);
+		assertNull(SolverCheckpoint.resume(checkpointFile, key, 3, false, TranspositionTable.allocate(1)));
+		assertNotNull(SolverCheckpoint.resume(checkpointFile, key, 2, false, TranspositionTable.allocate(1)));
+		
+		solver = getSolver(getBoard(), checkpointFile);
+		assertTrue(solver.tryToSolveIn(2, 30));
+		assertFalse(Files.exists(checkpointFile)); //done with it
+		Files.delete(directory);
+	}
+	
+	@Test
+	public void testResumeSkipsRefutedRootMoves() throws IOException {
+		BoardModel board = getBoard();
+		Solver solver = new Solver(board, Side.WHITE, null);
+		solver.setVerbose(false);
+		assertTrue(solver.tryToSolveIn(2, 30));
+		Move key = solver.getNextMoveIfSolved();
+		
+		//a checkpoint that has every other move refuted, as if the run had been interrupted just before trying the key
+		Set<Integer> refuted = new HashSet<>();
+		for (Move move : MovesProcessor.getAllMoves(board, Side.WHITE, null, true).getAllMoves()) {
+			if (!move.equals(key)) {
+				refuted.add(PackedMove.pack(move));
+			}
+		}
+		Path checkpointFile = Files.createTempFile("solve", ".checkpoint");
+		new SolverCheckpoint(Zobrist.hash(board, Side.WHITE, null), 2, false, 1000, 10, refuted)
+				.write(checkpointFile, TranspositionTable.allocate(1));
+		
+		Solver resumed = getSolver(board, checkpointFile);
+		assertTrue(resumed.tryToSolveIn(2, 30));
+		assertEquals(key, resumed.getNextMoveIfSolved());
+		assertTrue(resumed.getMovesCounter() > 1000); //counted on from the checkpoint
+		assertTrue(resumed.getMovesCounter() - 1000 < solver.getMovesCounter());
+	}
+	
+	@Test
+	public void testEntriesAreRestored() throws IOException {
+		TranspositionTable table = TranspositionTable.allocate(1);
+		table.store(123L, MateEntry.proven(3, null));
+		table.store(456L, MateEntry.disproven(2));
+		Path checkpointFile = Files.createTempFile("solve", ".checkpoint");
+		new SolverCheckpoint(789L, 3, true, 0, 0, Set.of()).write(checkpointFile, table);
+		
+		TranspositionTable restored = TranspositionTable.allocate(1);
+		SolverCheckpoint checkpoint = SolverCheckpoint.resume(checkpointFile, 789L, 3, true, restored);
+		assertTrue(checkpoint.refutedRootMoves().isEmpty());
+		assertEquals(table.probe(123L), restored.probe(123L));
+		assertEquals(table.probe(456L), restored.probe(456L));
+		Files.delete(checkpointFile);
+	}
+}
@@ -0,0 +1,116 @@
+package chess.solver;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.ChessPiece;
+
+public class SolverDaemonTest {
+
+	private Path writeBackRankMate(Path directory) throws IOException {
+		BoardModel backRankMate = new BoardModel();
+		backRankMate.placePiece(Cell.of(0, 7), ChessPiece.BLACK_KING);
+		backRankMate.placePiece(Cell.of(1, 6), ChessPiece.BLACK_PAWN);
+		backRankMate.placePiece(Cell.of(1, 7), ChessPiece.BLACK_PAWN);
+		backRankMate.placePiece(Cell.of(7, 0), ChessPiece.WHITE_ROOK);
+		backRankMate.placePiece(Cell.of(7, 6), ChessPiece.WHITE_KING);
+		return Files.writeString(directory.resolve("mate.txt"), backRankMate.toString());
+	}
+	
+	private Thread serve(SolverDaemon daemon) {
+		Thread server = new Thread(() -> {
+			try {
+				daemon.serve();
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		server.start();
+		return server;
+	}
+	
+	private Socket connect(SolverDaemon daemon) throws IOException {
+		return new Socket(InetAddress.getLoopbackAddress(), daemon.getPort());
+	}
+	
+	private BufferedReader reader(Socket socket) throws IOException {
+		return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+	}
+	
+	private PrintWriter writer(Socket socket) throws IOException {
+		return new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+	}
+	
+	@Test
+	public void testAnswersInOrder() throws Exception {
+		Path directory = Files.createTempDirectory("daemon");
+		Path boardFile = writeBackRankMate(directory);
+		
+		try (SolverDaemon daemon = new SolverDaemon(0, 2)) {
+			Thread server = serve(daemon);
+			try (Socket socket = connect(daemon); BufferedReader in = reader(socket); PrintWriter out = writer(socket)) {
+				
+				out.println("cd " + directory);
+				out.println("mate.txt WHITE 2 5");
+				out.println("missing.txt WHITE 2 5");
+				out.println("mate.txt WHITE 2 5"); //same id twice
+				out.println("ping");
+				out.println("shutdown");
+				
+				assertTrue(in.readLine().startsWith("mate.txt\tMATE IN 1\tWHITE_ROOK A1-A8"));
+				assertTrue(in.readLine().startsWith("missing.txt WHITE 2 5\tFAILED"));
+				assertTrue(in.readLine().startsWith("mate.txt\tMATE IN 1"));
+				assertEquals("pong", in.readLine());
+				assertEquals("bye", in.readLine());
+				assertNull(in.readLine());
+			}
+			server.join(5000);
+			assertFalse(server.isAlive());
+		} finally {
+			Files.delete(boardFile);
+			Files.delete(directory);
+		}
+	}
+	
+	@Test
+	public void testPuzzlesAfterShutdownAreRejected() throws Exception {
+		Path directory = Files.createTempDirectory("daemon");
+		Path boardFile = writeBackRankMate(directory);
+		
+		SolverDaemon daemon = new SolverDaemon(0, 1);
+		serve(daemon);
+		try (Socket socket = connect(daemon); BufferedReader in = reader(socket); PrintWriter out = writer(socket)) {
+			out.println("cd " + directory);
+			out.println("ping");
+			assertEquals("pong", in.readLine()); //the connection is accepted
+			
+			try (Socket other = connect(daemon); BufferedReader otherIn = reader(other); PrintWriter otherOut = writer(other)) {
+				otherOut.println("shutdown");
+				assertEquals("bye", otherIn.readLine());
+			}
+			
+			out.println("mate.txt WHITE 2 5");
+			assertTrue(in.readLine().startsWith("mate.txt\tFAILED\tjava.lang.IllegalStateException: The solver daemon is shutting down"));
+			
+			daemon.close();
+			assertNull(in.readLine()); //connections still open are closed
+		} finally {
+			daemon.close();
+			Files.delete(boardFile);
+			Files.delete(directory);
+		}
+	}
+}
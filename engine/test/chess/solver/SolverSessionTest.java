@@ -0,0 +1,45 @@
+package chess.solver;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.ChessPiece;
+import chess.model.Side;
+import chess.moves.Move;
+import chess.moves.MovesProcessor;
+
+public class SolverSessionTest {
+
+	@Test
+	public void testFollowUpSolveReusesProof() {
+		BoardModel board = new BoardModel();
+		board.placePiece(Cell.of(0, 0), ChessPiece.BLACK_KING);
+		board.placePiece(Cell.of(2, 2), ChessPiece.WHITE_KING);
+		board.placePiece(Cell.of(4, 4), ChessPiece.WHITE_QUEEN);
+		SolverSession session = new SolverSession(board, Side.WHITE, null);
+		session.setVerbose(false);
+		assertTrue(session.tryToSolveIn(2, 30));
+		assertTrue(session.getMovesCounter() > 0);
+		
+		Move key = session.getNextMoveIfSolved();
+		session.applyMove(key);
+		Move reply = MovesProcessor.getAllMoves(session.getBoard(), Side.BLACK, key, true).getAllMoves().iterator().next();
+		session.applyMove(reply);
+		
+		//the answer to the reply was proven by the first solve, no search needed
+		assertTrue(session.tryToSolveIn(1, 30));
+		assertEquals(0, session.getMovesCounter());
+		Move mate = session.getNextMoveIfSolved();
+		session.applyMove(mate);
+		assertTrue(MovesProcessor.isCheckMateOnColor(session.getBoard(), Side.BLACK, mate));
+		
+		//black to move
+		try {
+			session.tryToSolveIn(1, 30);
+			fail("Expecting an IllegalStateException");
+		} catch (IllegalStateException expected) {}
+	}
+}
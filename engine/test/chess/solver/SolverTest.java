@@ -0,0 +1,63 @@
+package chess.solver;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.ChessPiece;
+import chess.model.Side;
+
+public class SolverTest {
+
+	/**
+	 * mate in 2 whose key (Re1) is a waiting move: it threatens nothing, black is in zugzwang (Kc8 Re8#)
+	 */
+	private BoardModel getZugzwang() {
+		BoardModel board = new BoardModel();
+		board.placePiece(Cell.of(0, 3), ChessPiece.BLACK_KING);
+		board.placePiece(Cell.of(2, 2), ChessPiece.WHITE_KING);
+		board.placePiece(Cell.of(7, 7), ChessPiece.WHITE_ROOK);
+		return board;
+	}
+	
+	private BoardModel getQueenMateIn2() {
+		BoardModel board = new BoardModel();
+		board.placePiece(Cell.of(0, 0), ChessPiece.BLACK_KING);
+		board.placePiece(Cell.of(2, 2), ChessPiece.WHITE_KING);
+		board.placePiece(Cell.of(4, 4), ChessPiece.WHITE_QUEEN);
+		return board;
+	}
+	
+	@Test
+	public void testThreatPruning() {
+		Solver solver = new Solver(getQueenMateIn2(), Side.WHITE, null);
+		solver.setVerbose(false);
+		solver.setThreatPruning(true);
+		assertFalse(solver.tryToSolveIn(1, 30));
+		assertTrue(solver.tryToSolveIn(2, 30));
+	}
+	
+	@Test
+	public void testThreatPruningMissesZugzwang() {
+		Solver solver = new Solver(getZugzwang(), Side.WHITE, null);
+		solver.setVerbose(false);
+		assertTrue(solver.tryToSolveIn(2, 30));
+		assertEquals(Cell.of(7, 4), solver.getNextMoveIfSolved().getTarget());
+		
+		solver.setThreatPruning(true);
+		assertFalse(solver.tryToSolveIn(2, 30));
+	}
+	
+	@Test
+	public void testLazySmp() {
+		Solver solver = new Solver(getZugzwang(), Side.WHITE, null);
+		solver.setVerbose(false);
+		solver.setThreads(3);
+		assertFalse(solver.tryToSolveIn(1, 30));
+		assertFalse(solver.isTimedOut());
+		assertTrue(solver.tryToSolveIn(2, 30));
+		assertEquals(Cell.of(7, 4), solver.getNextMoveIfSolved().getTarget());
+	}
+}
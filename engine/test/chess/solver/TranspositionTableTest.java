@@ -0,0 +1,58 @@
+package chess.solver;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+public class TranspositionTableTest {
+
+	@Test
+	public void testStoreAndProbe() {
+		TranspositionTable table = TranspositionTable.allocate(1);
+		assertEquals(0, table.probe(123L));
+		
+		table.store(123L, MateEntry.proven(3, null));
+		assertTrue(MateEntry.isProven(table.probe(123L)));
+		assertEquals(3, MateEntry.depth(table.probe(123L)));
+		
+		//same key is overwritten
+		table.store(123L, MateEntry.disproven(2));
+		assertFalse(MateEntry.isProven(table.probe(123L)));
+		
+		table.clear();
+		assertEquals(0, table.probe(123L));
+	}
+	
+	@Test
+	public void testShallowestEntryIsReplaced() {
+		TranspositionTable table = TranspositionTable.allocate(1);
+		long bucketStride = table.getNumberOfEntries() / 4; //keys that differ by a multiple of this share a bucket
+		for (int i = 0; i < 4; i++) {
+			table.store(i * bucketStride, MateEntry.disproven(i + 2));
+		}
+		
+		table.store(4 * bucketStride, MateEntry.disproven(5));
+		assertEquals(0, table.probe(0)); //had the lowest depth
+		for (int i = 1; i <= 4; i++) {
+			assertNotEquals(0, table.probe(i * bucketStride));
+		}
+	}
+	
+	@Test
+	public void testSharedFile() throws IOException {
+		Path file = Files.createTempFile("tt", ".bin");
+		Files.delete(file);
+		file.toFile().deleteOnExit(); //can't delete it before then on all platforms, it stays mapped
+		
+		TranspositionTable writer = TranspositionTable.open(file, 1);
+		TranspositionTable reader = TranspositionTable.open(file, 2); //existing file's size wins
+		assertEquals(writer.getNumberOfEntries(), reader.getNumberOfEntries());
+		
+		writer.store(42L, MateEntry.proven(2, null));
+		assertEquals(2, MateEntry.depth(reader.probe(42L)));
+	}
+}
@@ -0,0 +1,57 @@
+package chess.tablebase;
+
+import static org.junit.Assert.*;
+
+
+import org.junit.Test;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.ChessPiece;
+import chess.model.Side;
+
+public class SignatureTest {
+
+	@Test
+	public void testParse() {
+		Signature signature = Signature.parse("W_KQvKR");
+		assertEquals(Side.WHITE, signature.getAttacker());
+		assertEquals("W_KQvKR", signature.getName());
+		assertEquals(ChessPiece.WHITE_KING, signature.getPieces().get(0));
+		assertEquals(ChessPiece.WHITE_QUEEN, signature.getPieces().get(1));
+		assertEquals(ChessPiece.BLACK_KING, signature.getPieces().get(2));
+		assertEquals(ChessPiece.BLACK_ROOK, signature.getPieces().get(3));
+		
+		//pieces are kept in canonical order (king, queen, rook, bishop, knight)
+		assertEquals("B_KRNvK", Signature.parse("B_NKRvK").getName());
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testTooManyPieces() { Signature.parse("W_KQRvKR"); }
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testMissingKing() { Signature.parse("W_QvK"); }
+	
+	@Test
+	public void testOfBoard() {
+		BoardModel board = new BoardModel();
+		board.placePiece(Cell.of(0, 0), ChessPiece.BLACK_KING);
+		board.placePiece(Cell.of(7, 7), ChessPiece.WHITE_KING);
+		board.placePiece(Cell.of(4, 4), ChessPiece.BLACK_ROOK);
+		
+		assertEquals(Signature.parse("B_KRvK"), Signature.of(board, Side.BLACK));
+		assertEquals(Signature.parse("W_KvKR"), Signature.of(board, Side.WHITE));
+		
+		//pawns aren't tablebase material
+		board.placePiece(Cell.of(6, 0), ChessPiece.WHITE_PAWN);
+		assertNull(Signature.of(board, Side.WHITE));
+	}
+	
+	@Test
+	public void testWithout() {
+		Signature signature = Signature.parse("W_KQvKR");
+		assertEquals(Signature.parse("W_KQvK"), signature.without(3));
+		assertEquals(Signature.parse("W_KvKR"), signature.without(1));
+		assertFalse(signature.without(1).hasMatingMaterial());
+	}
+}
@@ -0,0 +1,115 @@
+package chess.tablebase;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.ChessPiece;
+import chess.model.Side;
+import chess.moves.Move;
+import chess.moves.MovesProcessor;
+import chess.solver.Solver;
+
+public class TablebaseGeneratorTest {
+
+	private boolean solve(BoardModel board, Move previousMove, int maxMoves) {
+		Solver solver = new Solver(board, Side.WHITE, previousMove);
+		solver.setVerbose(false);
+		return solver.tryToSolveIn(maxMoves, 60);
+	}
+	
+	private BoardModel getBoard(Cell whiteKing, Cell whiteQueen, Cell blackKing) {
+		BoardModel board = new BoardModel();
+		board.placePiece(whiteKing, ChessPiece.WHITE_KING);
+		board.placePiece(whiteQueen, ChessPiece.WHITE_QUEEN);
+		board.placePiece(blackKing, ChessPiece.BLACK_KING);
+		return board;
+	}
+	
+	private void delete(Path directory) throws IOException {
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+			for (Path file : files) {
+				Files.delete(file);
+			}
+		}
+		Files.delete(directory);
+	}
+	
+	@Test
+	public void testDistancesMatchTheSolver() throws IOException {
+		Path directory = Files.createTempDirectory("tablebases");
+		try {
+			Tablebase tablebase = new TablebaseGenerator(directory).generate(Signature.parse("W_KQvK"));
+			Tablebases tablebases = Tablebases.load(directory);
+			
+			BoardModel[] boards = {
+					getBoard(Cell.of(2, 2), Cell.of(5, 1), Cell.of(0, 2)), 
+					getBoard(Cell.of(2, 2), Cell.of(3, 3), Cell.of(0, 0)), 
+					getBoard(Cell.of(5, 5), Cell.of(4, 2), Cell.of(7, 7)), 
+					getBoard(Cell.of(5, 2), Cell.of(4, 4), Cell.of(6, 0)), 
+					getBoard(Cell.of(4, 4), Cell.of(3, 2), Cell.of(1, 1))};
+			int[] expected = {1, 2, 2, 2, 4};
+			for (int i = 0; i < boards.length; i++) {
+				int movesToMate = tablebase.probe(boards[i], true);
+				assertEquals(expected[i], movesToMate);
+				assertEquals(movesToMate, tablebases.probe(boards[i], Side.WHITE, true));
+				
+				//a plain search agrees: no shorter mate
+				assertFalse(movesToMate > 1 && solve(boards[i], null, movesToMate - 1));
+				assertTrue(solve(boards[i], null, movesToMate));
+				
+				//the solver answers from the table, with a move that keeps the distance
+				Solver solver = new Solver(boards[i], Side.WHITE, null);
+				solver.setVerbose(false);
+				solver.setTablebases(tablebases);
+				assertTrue(solver.tryToSolveIn(movesToMate, 60));
+				assertEquals(0, solver.getMovesCounter());
+				BoardModel boardAfterMove = MovesProcessor.applyMove(boards[i], solver.getNextMoveIfSolved());
+				assertEquals(movesToMate - 1, tablebase.probe(boardAfterMove, false));
+				assertFalse(movesToMate > 1 && solver.tryToSolveIn(movesToMate - 1, 60));
+			}
+		} finally {
+			delete(directory);
+		}
+	}
+	
+	/**
+	 * a 4-piece table takes minutes to generate, run with -Dchess.slowTests=true
+	 */
+	@Test
+	public void testDefenderCapturesIntoLongerMate() throws IOException {
+		Assume.assumeTrue(Boolean.getBoolean("chess.slowTests"));
+		
+		Path directory = Files.createTempDirectory("tablebases");
+		try {
+			Tablebase tablebase = new TablebaseGenerator(directory).generate(Signature.parse("W_KQRvK"));
+			
+			//black is in check, and its only move takes the rook: KQ v K, a mate in 5 (not the mate in 1 the rook would give)
+			BoardModel board = new BoardModel();
+			board.placePiece(Cell.of(0, 0), ChessPiece.WHITE_KING);
+			board.placePiece(Cell.of(0, 1), ChessPiece.WHITE_QUEEN);
+			board.placePiece(Cell.of(1, 3), ChessPiece.WHITE_ROOK);
+			board.placePiece(Cell.of(0, 2), ChessPiece.BLACK_KING);
+			Collection<Move> moves = MovesProcessor.getAllMoves(board, Side.BLACK, null, true).getAllMoves();
+			assertEquals(1, moves.size());
+			Move capture = moves.iterator().next();
+			assertTrue(capture.isCapturePiece());
+			
+			int movesToMate = tablebase.probe(board, false);
+			BoardModel boardAfterCapture = MovesProcessor.applyMove(board, capture);
+			assertFalse(solve(boardAfterCapture, capture, movesToMate - 1));
+			assertTrue(solve(boardAfterCapture, capture, movesToMate));
+		} finally {
+			delete(directory);
+		}
+	}
+}
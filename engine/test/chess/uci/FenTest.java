@@ -0,0 +1,56 @@
+package chess.uci;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import chess.ChessConstants;
+import chess.model.Cell;
+import chess.model.ChessPiece;
+import chess.model.Side;
+import chess.moves.Move;
+
+public class FenTest {
+
+	@Test
+	public void testStartingPosition() {
+		Position position = Fen.parse(Fen.STARTING_POSITION);
+		assertEquals(Side.WHITE, position.sideToMove());
+		assertNull(position.previousMove());
+		for (int col = 0; col < 8; col++) {
+			assertEquals(ChessConstants.STARTING_ROW_BLACK_PIECES[col], position.board().getPiece(Cell.of(0, col)));
+			assertEquals(ChessPiece.BLACK_PAWN, position.board().getPiece(Cell.of(1, col)));
+			assertEquals(ChessPiece.WHITE_PAWN, position.board().getPiece(Cell.of(6, col)));
+			assertEquals(ChessConstants.STARTING_ROW_WHITE_PIECES[col], position.board().getPiece(Cell.of(7, col)));
+		}
+		assertEquals(32, Long.bitCount(position.board().getOccupiedSquares(Side.WHITE) | position.board().getOccupiedSquares(Side.BLACK)));
+		
+		Position afterMoves = position.play("e2e4").play("e7e5").play("g1f3");
+		assertEquals(Side.BLACK, afterMoves.sideToMove());
+		assertEquals(ChessPiece.WHITE_KNIGHT, afterMoves.board().getPiece(Cell.of(5, 5)));
+		assertEquals("g1f3", Position.formatMove(afterMoves.previousMove()));
+		assertEquals(Fen.parse("rnbqkbnr/pppp1ppp/8/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R b KQkq - 1 2").key(), afterMoves.key());
+	}
+	
+	@Test
+	public void testEnPassantSquare() {
+		Position position = Fen.parse("4k3/8/8/3Pp3/8/8/8/4K3 w - e6 0 1");
+		assertEquals("e7e5", Position.formatMove(position.previousMove()));
+		Move capture = position.parseMove("d5e6");
+		assertTrue(capture.isEnPassant());
+		assertEquals(ChessPiece.NO_PIECE, position.play("d5e6").board().getPiece(Cell.of(3, 4)));
+		
+		//without the en-passant square the capture is illegal
+		try {
+			Fen.parse("4k3/8/8/3Pp3/8/8/8/4K3 w - - 0 1").parseMove("d5e6");
+			fail("Expecting an IllegalArgumentException");
+		} catch (IllegalArgumentException expected) {}
+	}
+	
+	@Test
+	public void testPromotion() {
+		Position position = Fen.parse("8/P3k3/8/8/8/8/8/4K3 w - - 0 1");
+		assertEquals(ChessPiece.WHITE_KNIGHT, position.play("a7a8n").board().getPiece(Cell.of(0, 0)));
+		assertEquals("a7a8q", Position.formatMove(position.parseMove("a7a8q")));
+	}
+}
@@ -0,0 +1,60 @@
+package chess.uci;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.Test;
+
+public class UciEngineTest {
+
+	private List<String> run(String... commands) throws InterruptedException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		new UciEngine(new StringReader(String.join("\n", commands)), new PrintStream(output, true)).run();
+		return output.toString().lines().toList();
+	}
+	
+	@Test
+	public void testHandshake() throws InterruptedException {
+		List<String> output = run("uci", "isready");
+		assertTrue(output.contains("uciok"));
+		assertEquals("readyok", output.get(output.size() - 1));
+	}
+	
+	@Test
+	public void testGoDepth() throws InterruptedException {
+		List<String> output = run("position startpos moves e2e4 e7e5", "go depth 3");
+		assertTrue(output.stream().anyMatch(line -> line.startsWith("info depth 3 score cp ")));
+		String bestMove = output.get(output.size() - 1);
+		assertTrue(bestMove, bestMove.matches("bestmove [a-h][1-8][a-h][1-8] ponder [a-h][1-8][a-h][1-8]"));
+	}
+	
+	@Test
+	public void testGoMate() throws InterruptedException {
+		List<String> output = run("position fen 4k3/p2ppp2/8/8/8/7R/8/4K3 w - - 0 1", "go mate 2");
+		assertTrue(output.contains("bestmove h3h8"));
+		assertTrue(output.stream().anyMatch(line -> line.startsWith("info depth 1 score mate 1 ")));
+		
+		//the engine finds it too
+		output = run("position fen 4k3/p2ppp2/8/8/8/7R/8/4K3 w - - 0 1", "go movetime 1000");
+		assertTrue(output.contains("bestmove h3h8"));
+	}
+	
+	@Test
+	public void testGoMateKeepsToMoveTime() throws InterruptedException {
+		long startMillis = System.currentTimeMillis();
+		List<String> output = run("position startpos", "go mate 10 movetime 300");
+		assertTrue(output.get(output.size() - 1).startsWith("bestmove "));
+		assertTrue(System.currentTimeMillis() - startMillis < 900); //not a whole second per mate length
+	}
+	
+	@Test
+	public void testInvalidCommandIsReported() throws InterruptedException {
+		List<String> output = run("position startpos moves e2e5", "isready");
+		assertTrue(output.get(0).startsWith("info string error"));
+		assertEquals("readyok", output.get(1));
+	}
+}
@@ -1,13 +1,12 @@
 package chess.ui;
-import java.awt.Color;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.util.Collection;
 
 import chess.model.BoardModel;
 import chess.model.Cell;
 import chess.model.ChessPiece;
 import chess.model.PieceType;
+import chess.model.Side;
 import chess.moves.Move;
 import chess.moves.MovesProcessor;
 
@@ -95,7 +94,7 @@ public class CellClickListener extends MouseAdapter {
 	private void handlePromotePiece(MouseEvent event) {
 		UiMoveState moveState = gui.getMoveState();
 		ChessCellButton sourceCell = moveState.getSourceCell();
-		boolean white = sourceCell.getPiece().getColor().equals(Color.WHITE);
+		boolean white = sourceCell.getPiece().getSide() == Side.WHITE;
 		ChessPiece promotedPiece = null;
 		
 		PromotePieceMenuItem menuItem = (PromotePieceMenuItem) event.getSource();
@@ -170,13 +169,13 @@ public class CellClickListener extends MouseAdapter {
 		if (gui.isInGameMode()) {
 			//make sure it's this piece/color's turn
 			Move lastMove = gameController.getLastMove();
-			Color color = piece.getColor();
-			if (lastMove == null && color.equals(Color.BLACK)) {
+			Side color = piece.getSide();
+			if (lastMove == null && color == Side.BLACK) {
 				gui.updateMessage("White's turn to move...", true);
 				return; //white should move first
 			}
-			if (lastMove != null && lastMove.getPiece().getColor().equals(color)) {
-				gui.updateMessage((color.equals(Color.WHITE) ? "Black" : "White") + "'s turn to move...", true);
+			if (lastMove != null && lastMove.getPiece().getSide().equals(color)) {
+				gui.updateMessage((color == Side.WHITE ? "Black" : "White") + "'s turn to move...", true);
 				return; //same color attempting 2 moves in succession
 			}
 		}
@@ -185,11 +184,7 @@ public class CellClickListener extends MouseAdapter {
 		moveState.setInProgress(true);
 		moveState.setSourceCell(cellButton);
 		
-		BoardModel board = gameController.getBoard();
-		Collection<Move> validMoves = 
-				MovesProcessor.getMovesForPiece(board, cellButton.getCell(), piece, gameController.getLastMove(), true);
-		
-		for (Move move : validMoves) {
+		for (Move move : gameController.getLegalMoves().getMovesFrom(cellButton.getCell())) {
 			Cell target = move.getTarget();
 			gui.getCellButton(target.getRow(), target.getCol()).highlightAsValidTarget();
 		}
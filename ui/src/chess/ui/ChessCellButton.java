@@ -37,7 +37,7 @@ public class ChessCellButton extends JButton {
 			throw new IllegalArgumentException("row and col must be 0-7");
 		}
 		
-		this.cell = new Cell(rowNum, colNum);
+		this.cell = Cell.of(rowNum, colNum);
 		setToolTipText(cell.getLabel());
 		
 		eventHandler = new CellClickListener(this, gui); 
@@ -1,12 +1,16 @@
 package chess.ui;
 
-import chess.Utils;
 import chess.model.BoardModel;
 import chess.model.Cell;
 import chess.model.ChessPiece;
+import chess.model.Side;
 import chess.moves.Move;
 import chess.moves.MovesProcessor;
-import chess.solver.Solver;
+import chess.solver.Ponderer;
+import chess.solver.SolveResultCache;
+import chess.solver.SolverSession;
+import chess.solver.TranspositionTable;
+import chess.tablebase.Tablebases;
 
 import javax.imageio.ImageIO;
 import javax.swing.*;
@@ -18,6 +22,9 @@ import java.awt.event.ActionEvent;
 import java.awt.image.BufferedImage;
 import java.io.*;
 import java.net.URL;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.Map;
 
 import static chess.ChessConstants.STARTING_ROW_BLACK_PIECES;
 import static chess.ChessConstants.STARTING_ROW_WHITE_PIECES;
@@ -31,6 +38,8 @@ public class ChessGUI {
     private final JPanel gui = new JPanel(new BorderLayout(3, 3));
     private final ChessCellButton[][] chessBoardSquares = new ChessCellButton[8][8];
     private final Image[][] chessPieceImages = new Image[2][6];
+    private final Map<ChessPiece, ImageIcon> pieceIcons = new EnumMap<>(ChessPiece.class); //built once, shared by all squares
+    private BoardModel displayedBoard; //snapshot of the board last synced to the view, null until the first (full) sync
     private final UiMoveState moveState = new UiMoveState();
     private GameController gameController = new GameController(new BoardModel(), this); //start with empty board
     private boolean setupMode = true;
@@ -40,6 +49,13 @@ public class ChessGUI {
     private int maxMovesToSolve = 3;
     private int maxSecondsToSolve = 5;
     private final JFileChooser fileChooser = new JFileChooser();
+    private SolveResultCache resultCache;
+    private boolean resultCacheUnavailable;
+    private Tablebases tablebases;
+    private TranspositionTable transpositionTable;
+    private Ponderer ponderer;
+    private SolverSession solverSession;
+    private final JCheckBox ponderCheckBox = new JCheckBox("ponder", Boolean.getBoolean("chess.ponder"));
     
     public static final ImageIcon BLANK_SQUARE = new ImageIcon(
             new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB));
@@ -96,10 +112,10 @@ public class ChessGUI {
         bottomTools.setFloatable(false);
         gui.add(bottomTools, BorderLayout.AFTER_LAST_LINE);
         
-        Action solveForWhite = getSolveForAction(Color.WHITE, "White");
+        Action solveForWhite = getSolveForAction(Side.WHITE, "White");
         bottomTools.add(solveForWhite);
         
-        Action solveForBlack = getSolveForAction(Color.BLACK, "Black");
+        Action solveForBlack = getSolveForAction(Side.BLACK, "Black");
         bottomTools.add(solveForBlack);
         
         bottomTools.addSeparator();
@@ -120,6 +136,15 @@ public class ChessGUI {
         bottomTools.add(maxSecondsSlider);
         
         bottomTools.addSeparator();
+        ponderCheckBox.setToolTipText("solve the likeliest replies in the background after each solver move");
+        ponderCheckBox.addActionListener(event -> {
+        	if (!ponderCheckBox.isSelected() && ponderer != null) {
+        		ponderer.stop();
+        	}
+        });
+        bottomTools.add(ponderCheckBox);
+        
+        bottomTools.addSeparator();
 
 //        gui.add(new JLabel("?"), BorderLayout.LINE_START);
 
@@ -310,41 +335,16 @@ public class ChessGUI {
                 	return;
                 }
                 
-                BoardModel board = new BoardModel();
-                try {
-                	FileReader fr = new FileReader(file);
-                	BufferedReader br = new BufferedReader(fr);
-                	int row = 0;
-                	String line;
-                	while ((line = br.readLine()) != null && row < 8) {
-	                	if (line.trim().isEmpty()) {
-	                		continue;
-	                	}
-	                	
-	                	String[] ary = line.split("\\|");
-	                	if (ary.length < 8) {
-	                		updateMessage("File " + file + " has invalid content...", true);
-		                	return;
-	                	}
-	                	
-	                	for (int col = 0; col < 8; col++) {
-							ChessPiece piece = ChessPiece.fromString(ary[col].trim());
-							if (piece == null) {
-								updateMessage("File " + file + " has invalid content...", true);
-			                	return;
-							}
-							
-							board.placePiece(new Cell(row, col), piece);
-						}
-	                	
-	                	row++;
-	                }
-	                
-					br.close();
-					fr.close();
+                BoardModel board;
+                try (FileReader fr = new FileReader(file)) {
+                	board = BoardModel.parse(fr);
+				} catch (IllegalArgumentException e) {
+					updateMessage("File " + file + " has invalid content...", true);
+					return;
 				} catch (IOException e) {
 					e.printStackTrace();
 					updateMessage("Unable to load file...", true);
+					return;
 				}
 				
 				clearBoard();
@@ -355,7 +355,7 @@ public class ChessGUI {
 	    };
 	}
 
-	private AbstractAction getSolveForAction(Color color, String colorText) {
+	private AbstractAction getSolveForAction(Side color, String colorText) {
 		return new AbstractAction("Solve for " + colorText) {
 	        @Override
 	        public void actionPerformed(ActionEvent e) {
@@ -424,6 +424,14 @@ public class ChessGUI {
                     		  jj * 64, ii * 64, 60, 60);
                 }
             }
+            
+            for (ChessPiece piece : ChessPiece.values()) {
+            	if (piece != ChessPiece.NO_PIECE) {
+            		pieceIcons.put(piece, new ImageIcon(getImageForPiece(piece)));
+            	}
+            }
+            pieceIcons.put(ChessPiece.WHITE_QUEEN, 
+            		new ImageIcon(getClass().getClassLoader().getResource("resources/queen.jpg")));
         } catch (Exception e) {
             e.printStackTrace();
             System.exit(1);
@@ -562,32 +570,41 @@ public class ChessGUI {
     }
     
     public ImageIcon getMalky() {
-    	return new ImageIcon(getClass().getClassLoader().getResource("resources/queen.jpg"));
+    	return pieceIcons.get(ChessPiece.WHITE_QUEEN);
 	}
     
+    public ImageIcon getIconForPiece(ChessPiece piece) {
+    	return pieceIcons.get(piece);
+    }
+    
     public ChessCellButton getCellButton(int row, int col) {
     	return chessBoardSquares[row][col]; 
     }
     
+    /**
+     * updates the squares whose piece changed since the last sync (all of them on the first one)
+     */
     public void syncViewWithModel() {
     	BoardModel board = this.gameController.getBoard();
     	for (int row = 0; row < 8; row++) {
     		for (int col = 0; col < 8; col++) {
-    			ChessCellButton b = chessBoardSquares[row][col];
     			ChessPiece piece = board.getPiece((byte) row, (byte) col);
+    			if (displayedBoard != null && displayedBoard.getPiece((byte) row, (byte) col) == piece) {
+    				continue;
+    			}
+    			
+    			ChessCellButton b = chessBoardSquares[row][col];
     			if (piece.equals(ChessPiece.NO_PIECE)) {
     				b.setIcon(BLANK_SQUARE);
     				b.removePiece();
     			} else {
-    				b.setIcon(new ImageIcon(getImageForPiece(piece)));
+    				b.setIcon(getIconForPiece(piece));
     				b.setPiece(piece);
-    				
-    				if (piece == ChessPiece.WHITE_QUEEN) {
-    					b.setIcon(getMalky());
-    				}
     			}
     		}
 		}
+		displayedBoard = board.getClone();
+		gameController.prefetchLegalMoves();
     }
     
     private void enableOrDisableAllPopups(boolean enable) {
@@ -606,11 +623,16 @@ public class ChessGUI {
     	return !this.setupMode;
     }
     
-    private void solveFor(Color color) {
+    private void solveFor(Side color) {
     	if (setupMode) {
     		updateMessage("Must be in game mode to solve...", true);
     		return;
     	}
+    	Move lastMove = gameController.getLastMove();
+    	if (lastMove != null && lastMove.getPiece().getSide() == color) {
+    		updateMessage((color == Side.WHITE ? "Black" : "White") + "'s turn to move...", true);
+    		return;
+    	}
     	
     	gui.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
     	boolean solved = false;
@@ -630,26 +652,127 @@ public class ChessGUI {
     	gui.setCursor(Cursor.getDefaultCursor());
     }
     
-    private boolean solveForInNmoves(Color color, int maxMoves) {
+    /**
+     * @return the persistent solver cache (location can be overridden via the "chess.solveCache" system property), or null if 
+     * 		it can't be opened
+     */
+    private SolveResultCache getResultCache() {
+    	if (resultCache == null && !resultCacheUnavailable) {
+    		String path = System.getProperty("chess.solveCache", 
+    				Paths.get(System.getProperty("user.home"), ".chess-challenge-solve-cache").toString());
+    		try {
+    			resultCache = SolveResultCache.open(Paths.get(path));
+    		} catch (IOException e) {
+    			e.printStackTrace();
+    			resultCacheUnavailable = true; //solve without a cache rather than failing
+    		}
+    	}
+    	return resultCache;
+    }
+    
+    /**
+     * @return the tablebases in the directory given by the "chess.tablebases" system property (none if not set)
+     */
+    private Tablebases getTablebases() {
+    	if (tablebases == null) {
+    		tablebases = new Tablebases();
+    		String directory = System.getProperty("chess.tablebases");
+    		if (directory != null) {
+    			try {
+    				tablebases = Tablebases.load(Paths.get(directory));
+    			} catch (IOException e) {
+    				e.printStackTrace(); //solve without tablebases rather than failing
+    			}
+    		}
+    	}
+    	return tablebases;
+    }
+    
+    /**
+     * @return the (in-memory) transposition table shared by all solves, "chess.ttSizeMb" MB (default 256)
+     */
+    private TranspositionTable getTranspositionTable() {
+    	if (transpositionTable == null) {
+    		transpositionTable = TranspositionTable.allocate(Integer.getInteger("chess.ttSizeMb", 256));
+    	}
+    	return transpositionTable;
+    }
+    
+    /**
+     * @return the ponderer, sharing the tablebases and transposition table of the foreground solves ("chess.ponderReplies" 
+     * replies pondered per move, default 16)
+     */
+    private Ponderer getPonderer() {
+    	if (ponderer == null) {
+    		ponderer = new Ponderer(Integer.getInteger("chess.solverThreads", Runtime.getRuntime().availableProcessors()),
+    				Integer.getInteger("chess.ponderReplies", 16), 1024);
+    		ponderer.setTablebases(getTablebases());
+    		ponderer.setTranspositionTable(getTranspositionTable());
+    	}
+    	return ponderer;
+    }
+    
+    /**
+     * @return the solver session for "color", re-rooted on the current position: the previous session carries on if the
+     * 		position is the one it was left at, or follows from it by the last move (the user's reply). Otherwise a new one.
+     */
+    private SolverSession getSolverSession(Side color) {
+    	BoardModel board = gameController.getBoard();
+    	Move lastMove = gameController.getLastMove();
+    	if (solverSession != null && solverSession.getColorToSolveFor() == color && lastMove != null 
+    			&& solverSession.getPreviousMove() != lastMove 
+    			&& solverSession.getBoard().equals(MovesProcessor.undoMove(board, lastMove))) {
+    		solverSession.applyMove(lastMove);
+    	}
+    	
+    	if (solverSession == null || solverSession.getColorToSolveFor() != color 
+    			|| solverSession.getPreviousMove() != lastMove || !solverSession.getBoard().equals(board)) {
+    		solverSession = new SolverSession(board, color, lastMove);
+    		solverSession.setResultCache(getResultCache());
+    		solverSession.setTablebases(getTablebases());
+    		solverSession.setTranspositionTable(getTranspositionTable());
+    		solverSession.setThreads(Integer.getInteger("chess.solverThreads", Runtime.getRuntime().availableProcessors()));
+    	}
+    	return solverSession;
+    }
+    
+    private boolean solveForInNmoves(Side color, int maxMoves) {
     	System.out.printf("==== Trying to solve in max %s moves =====%n", maxMovesToSolve);
     	
-    	Solver solver = new Solver(gameController.getBoard(), color, gameController.getLastMove());
-		if (solver.tryToSolveIn(maxMoves, maxSecondsToSolve)) {
-			Move move = solver.getNextMoveIfSolved();
-			gameController.applyMove(move);
-			
-			if (maxMovesToSolve > 1 && !MovesProcessor.isCheckMateOnColor(gameController.getBoard(), Utils.getOpponentColor(color), move)) {
-				//subtract 1 from slider
-				maxMovesSlider.setValue(maxMovesToSolve - 1);
-			}
-			
-			syncViewWithModel();
-			resetBoardBackgroundColors();
-			solver.printCounters(maxMoves);
-			return true;
+    	SolverSession session = getSolverSession(color);
+    	Move move = null;
+    	if (ponderCheckBox.isSelected()) {
+    		move = getPonderer().getSolution(gameController.getBoard(), color, gameController.getLastMove(), maxMoves);
+    		if (move != null) {
+    			System.out.println("Pondered: " + move);
+    		}
+    	}
+    	
+    	if (move == null) {
+	    	boolean solved = session.tryToSolveIn(maxMoves, maxSecondsToSolve);
+	    	session.printCounters(maxMoves);
+	    	if (!solved) {
+	    		return false;
+	    	}
+	    	move = session.getNextMoveIfSolved();
+    	}
+    	
+		gameController.applyMove(move);
+		session.applyMove(move);
+		
+		boolean mate = MovesProcessor.isCheckMateOnColor(gameController.getBoard(), color.opponent(), move);
+		if (maxMovesToSolve > 1 && !mate) {
+			//subtract 1 from slider
+			maxMovesSlider.setValue(maxMovesToSolve - 1);
 		}
 		
-		solver.printCounters(maxMoves);
-		return false;
+		syncViewWithModel();
+		resetBoardBackgroundColors();
+		
+		//while the user thinks about the reply
+		if (ponderCheckBox.isSelected() && maxMoves > 1 && !mate) {
+			getPonderer().ponder(gameController.getBoard(), color, move, maxMoves - 1, maxSecondsToSolve);
+		}
+		return true;
     }
-}
\ No newline at end of file
+}
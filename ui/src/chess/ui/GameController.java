@@ -1,19 +1,34 @@
 package chess.ui;
 
-import java.awt.Color;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import chess.model.BoardModel;
 import chess.model.Cell;
+import chess.model.Side;
 import chess.moves.Move;
 import chess.moves.MovesProcessor;
 
 public class GameController {
+	private static final ExecutorService LEGAL_MOVES_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "legal-moves");
+		thread.setDaemon(true);
+		return thread;
+	});
+	
 	private BoardModel board;
 	private final ChessGUI gui;
 	private final List<Move> moves = new ArrayList<>();
+	
+	//legal moves of the position last prefetched (a snapshot of the board, and the last move at the time)
+	private BoardModel legalMovesBoard;
+	private Move legalMovesLastMove;
+	private Future<LegalMoves> legalMoves;
 
 	public GameController(BoardModel board, ChessGUI gui) {
 		super();
@@ -29,7 +44,42 @@ public class GameController {
 	}
 	
 	public boolean isValidMove(Move move) {
-		return gui.isInSetupMode() || MovesProcessor.isValidMove(board, move, getLastMove());
+		return gui.isInSetupMode() || getLegalMoves().contains(move);
+	}
+	
+	/**
+	 * Starts computing the legal moves of the current position in the background, unless they're already computed (or being 
+	 * computed). Called whenever the view is synced with the board, so they are usually ready by the time a piece is clicked.
+	 */
+	public void prefetchLegalMoves() {
+		Move lastMove = getLastMove();
+		if (legalMoves != null && legalMovesLastMove == lastMove && legalMovesBoard.equals(board)) {
+			return;
+		}
+		
+		if (legalMoves != null) {
+			legalMoves.cancel(false);
+		}
+		//the board can be edited in place (set-up mode), so the background task works on a snapshot
+		BoardModel snapshot = board.getClone();
+		legalMovesBoard = snapshot;
+		legalMovesLastMove = lastMove;
+		legalMoves = LEGAL_MOVES_EXECUTOR.submit(() -> new LegalMoves(snapshot, lastMove));
+	}
+	
+	/**
+	 * @return the legal moves (of both sides) in the current position, waits for the background computation if still running
+	 */
+	public LegalMoves getLegalMoves() {
+		prefetchLegalMoves();
+		try {
+			return legalMoves.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while computing legal moves", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Unable to compute legal moves", e);
+		}
 	}
 	
 	public void applyMove(Move move) {
@@ -64,7 +114,7 @@ public class GameController {
 		BoardModel board = getBoard();
 		Move lastMove = getLastMove();
 		
-		for (Color color : new Color[]{Color.WHITE, Color.BLACK}) {
+		for (Side color : new Side[]{Side.WHITE, Side.BLACK}) {
 			Cell kingsCell = MovesProcessor.locateKing(board, color);
 			if (kingsCell == null) { //can happen if in set-up mode and king not on board yet
 				continue;
@@ -85,7 +135,7 @@ public class GameController {
 	}
 	
 	public boolean canEnterGameMode() {
-		for (Color color : new Color[]{Color.WHITE, Color.BLACK}) {
+		for (Side color : new Side[]{Side.WHITE, Side.BLACK}) {
 			Collection<Cell> kingsCells = MovesProcessor.locateKings(board, color);
 			if (kingsCells.isEmpty()) {
 				gui.updateMessage("Missing king...", true);
@@ -98,8 +148,8 @@ public class GameController {
 		
 		highlightCheckCmSm(); 
 		Move lastMove = getLastMove();
-        return !MovesProcessor.isCheckMateOnColor(board, Color.WHITE, lastMove)
-				&& !MovesProcessor.isCheckMateOnColor(board, Color.BLACK, lastMove);
+        return !MovesProcessor.isCheckMateOnColor(board, Side.WHITE, lastMove)
+				&& !MovesProcessor.isCheckMateOnColor(board, Side.BLACK, lastMove);
     }
 
 }
@@ -0,0 +1,44 @@
+package chess.ui;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import chess.model.BoardModel;
+import chess.model.Cell;
+import chess.model.Side;
+import chess.moves.Move;
+import chess.moves.MovesProcessor;
+
+/**
+ * The legal moves of both sides in one position, indexed by source square, so the GUI can highlight targets and validate a
+ * move without generating anything on the click.
+ */
+public class LegalMoves {
+	private final List<List<Move>> movesBySource = new ArrayList<>(64);
+	private final long[] targetsBySource = new long[64]; //bitboard (bit row * 8 + col) of the targets of each source square
+	
+	public LegalMoves(BoardModel board, Move lastMove) {
+		super();
+		for (int index = 0; index < 64; index++) {
+			movesBySource.add(new ArrayList<>());
+		}
+		for (Side side : new Side[]{Side.WHITE, Side.BLACK}) {
+			for (Move move : MovesProcessor.getAllMoves(board, side, lastMove, true).getAllMoves()) {
+				int source = move.getSource().getIndex();
+				movesBySource.get(source).add(move);
+				targetsBySource[source] |= 1L << move.getTarget().getIndex();
+			}
+		}
+	}
+	
+	public Collection<Move> getMovesFrom(Cell source) {
+		return movesBySource.get(source.getIndex());
+	}
+	
+	public boolean contains(Move move) {
+		int source = move.getSource().getIndex();
+		return (targetsBySource[source] & (1L << move.getTarget().getIndex())) != 0
+				&& movesBySource.get(source).contains(move); //at most one piece's moves (e.g. the choice of promoted piece)
+	}
+}